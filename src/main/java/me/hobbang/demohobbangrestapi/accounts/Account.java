@@ -18,7 +18,8 @@ public class Account {
 
     private String password;
 
-    @ElementCollection(fetch=FetchType.EAGER)
+    // 인증할 때만 필요하므로 AccountRepository.findByEmail에서 함께 읽는다.
+    @ElementCollection(fetch=FetchType.LAZY)
     @Enumerated(EnumType.STRING)
     private Set<AccountRole> roles;
 }
@@ -1,10 +1,61 @@
 package me.hobbang.demohobbangrestapi.accounts;
 
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Integer> {
-    Optional<Account> findByEmail(String username);
+
+    // 인증할 때마다 불리므로 계정과 권한을 조인 한번으로 읽고 캐시해둔다.
+    @Cacheable(cacheNames = "accounts", unless = "#result == null")
+    @Query("select distinct a from Account a left join fetch a.roles where a.email = :email")
+    Optional<Account> findByEmail(@Param("email") String username);
+
+    // 로그인 중 해시를 바꿀 때 계정을 읽지 않고 비밀번호만 바꾼다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @CacheEvict(cacheNames = "accounts", key = "#p0")
+    @Query("update Account a set a.password = :password where a.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
+    // 캐시 키가 email이라 바뀌기 전 email을 알 수 없으므로 변경은 전부 비운다. 계정 변경은 드물다.
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    <S extends Account> S save(S account);
+
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    <S extends Account> List<S> saveAll(Iterable<S> accounts);
+
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    void deleteById(Integer id);
+
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    void delete(Account account);
+
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    void deleteAll(Iterable<? extends Account> accounts);
+
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    void deleteInBatch(Iterable<Account> accounts);
+
+    @Override
+    @CacheEvict(cacheNames = "accounts", allEntries = true)
+    void deleteAllInBatch();
 }
\ No newline at end of file
@@ -1,5 +1,15 @@
 package me.hobbang.demohobbangrestapi.accounts;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
 public enum AccountRole {
-    ADMIN,USER
+    ADMIN,USER;
+
+    // 인증할 때마다 새로 만들지 않도록 역할마다 하나씩 공유한다.
+    private final GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + name());
+
+    public GrantedAuthority getAuthority() {
+        return authority;
+    }
 }
@@ -0,0 +1,29 @@
+package me.hobbang.demohobbangrestapi.accounts;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.io.IOException;
+
+/**
+ * 다른 리소스에 들어있는 계정은 id만 내보낸다. 비밀번호 해시와 권한이 응답에 나가지 않는다.
+ * 지연 로딩 프록시면 초기화하지 않고 프록시가 들고 있는 id를 쓰므로 계정 select가 실행되지 않는다.
+ */
+public class AccountSerializer extends JsonSerializer<Account> {
+
+    @Override
+    public void serialize(Account account, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        gen.writeObjectField("id", id(account));
+        gen.writeEndObject();
+    }
+
+    private static Object id(Account account) {
+        if (account instanceof HibernateProxy) {
+            return ((HibernateProxy) account).getHibernateLazyInitializer().getIdentifier();
+        }
+        return account.getId();
+    }
+}
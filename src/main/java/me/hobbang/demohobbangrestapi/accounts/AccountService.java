@@ -2,20 +2,27 @@ package me.hobbang.demohobbangrestapi.accounts;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
-public class AccountService implements UserDetailsService {
+public class AccountService implements UserDetailsService, UserDetailsPasswordService {
+
+    // 역할 조합은 몇 개 되지 않으므로 조합마다 권한 목록을 한번만 만든다.
+    private static final Map<Set<AccountRole>, Collection<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
 
     @Autowired
     AccountRepository accountRepository;
@@ -28,6 +35,10 @@ public class AccountService implements UserDetailsService {
         return this.accountRepository.save(account);
     }
 
+    /**
+     * 계정은 AccountRepository의 accounts 캐시에서 읽는다.
+     * ProviderManager가 인증 후 UserDetails의 비밀번호를 지우기 때문에 User는 캐시하지 않고 매번 새로 만든다.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Account account = accountRepository.findByEmail(username)
@@ -35,9 +46,20 @@ public class AccountService implements UserDetailsService {
         return new User(account.getEmail(), account.getPassword(), authorities(account.getRoles()));
     }
 
-    private Collection<? extends GrantedAuthority> authorities(Set<AccountRole> roles) {
-        return roles.stream()
-                .map(r -> new SimpleGrantedAuthority("ROLE_" + r.name()))
-                .collect(Collectors.toSet());
+    Collection<? extends GrantedAuthority> authorities(Set<AccountRole> roles) {
+        Set<AccountRole> key = roles.isEmpty() ? EnumSet.noneOf(AccountRole.class) : EnumSet.copyOf(roles);
+        return AUTHORITIES.computeIfAbsent(key, r -> Collections.unmodifiableSet(r.stream()
+                .map(AccountRole::getAuthority)
+                .collect(Collectors.toSet())));
+    }
+
+    /**
+     * 로그인에 성공했는데 저장된 해시의 알고리즘이나 cost가 현재 설정과 다르면
+     * DaoAuthenticationProvider가 새로 해시한 비밀번호로 호출한다.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        this.accountRepository.updatePassword(user.getUsername(), newPassword);
+        return new User(user.getUsername(), newPassword, user.getAuthorities());
     }
 }
\ No newline at end of file
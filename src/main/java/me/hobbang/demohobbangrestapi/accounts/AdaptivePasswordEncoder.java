@@ -0,0 +1,129 @@
+package me.hobbang.demohobbangrestapi.accounts;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * bcrypt cost를 설정(또는 시작할 때 측정)한 값으로 맞추는 PasswordEncoder.
+ * cost가 다른 bcrypt 해시나 다른 알고리즘의 해시는 upgradeEncoding이 true라서
+ * 로그인에 성공하면 DaoAuthenticationProvider가 AccountService.updatePassword로 다시 해시한다.
+ * 해시 계산은 크기가 제한된 전용 executor에서 실행해서 토큰 발급이 몰려도 CPU를 다 쓰지 않게 한다.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePasswordEncoder.class);
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\{bcrypt}\\$2[aby]?\\$(\\d\\d)\\$");
+
+    static final int MIN_STRENGTH = 4;
+
+    static final int MAX_STRENGTH = 16;
+
+    private final int strength;
+
+    private final DelegatingPasswordEncoder delegate;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    @SuppressWarnings("deprecation")
+    public AdaptivePasswordEncoder(int strength, ThreadPoolTaskExecutor executor) {
+        this.strength = strength;
+        this.executor = executor;
+
+        // PasswordEncoderFactories와 같은 id를 읽을 수 있게 하되 bcrypt만 cost를 지정한다.
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, new BCryptPasswordEncoder(strength));
+        encoders.put("noop", NoOpPasswordEncoder.getInstance());
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder());
+        encoders.put("scrypt", new SCryptPasswordEncoder());
+        this.delegate = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+    }
+
+    /**
+     * bcrypt 해시 한번이 target 안에 끝나는 가장 큰 cost를 찾는다. cost가 1 늘 때마다 시간이 두배가 된다.
+     */
+    public static int calibrate(Duration target) {
+        long targetNanos = target.toNanos();
+        // 첫 호출은 클래스 로딩과 JIT 때문에 느리므로 버린다.
+        new BCryptPasswordEncoder(MIN_STRENGTH).encode("calibration");
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH) {
+            long started = System.nanoTime();
+            new BCryptPasswordEncoder(strength + 1).encode("calibration");
+            if (System.nanoTime() - started > targetNanos) {
+                break;
+            }
+            strength++;
+        }
+        log.info("Calibrated bcrypt strength to {} for a target hash time of {}", strength, target);
+        return strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> this.delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> this.delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1)) != this.strength;
+        }
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        try {
+            return this.executor.submit(task).get();
+        } catch (TaskRejectedException e) {
+            throw new AuthenticationServiceException("Too many concurrent password hash requests", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
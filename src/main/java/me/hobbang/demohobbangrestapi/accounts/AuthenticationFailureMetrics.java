@@ -0,0 +1,38 @@
+package me.hobbang.demohobbangrestapi.accounts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AccountService로 인증하다 실패한 횟수. (auth.failures)
+ * ProviderManager가 발행하는 실패 이벤트를 예외 종류(reason)별로 센다.
+ * 없는 계정도 DaoAuthenticationProvider가 BadCredentialsException으로 바꾸므로 틀린 비밀번호와 같이 센다.
+ */
+@Component
+public class AuthenticationFailureMetrics {
+
+    static final String COUNTER = "auth.failures";
+
+    private final MeterRegistry registry;
+
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    public AuthenticationFailureMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        this.counters.computeIfAbsent(event.getException().getClass(), type -> Counter.builder(COUNTER)
+                .description("Failed authentications")
+                .tag("reason", type.getSimpleName())
+                .register(this.registry))
+                .increment();
+    }
+}
@@ -0,0 +1,128 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 시간을 보고 동시에 처리할 요청 수를 조절한다. (TCP Vegas 방식)
+ * 부하가 없을 때의 응답 시간(rttNoLoad)과 지금 응답 시간의 비율로 대기열 길이를 추정해서
+ * 대기열이 짧으면 한도를 늘리고 길면 줄인다. 한도를 넘는 요청은 기다리게 하지 않고 바로 거절한다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // 한도 * 이 값만큼 샘플을 받으면 rttNoLoad를 다시 잰다. DB가 느려진 상태가 새 기준이 될 수 있게 한다.
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    // 아래 필드는 onSample에서 this로 동기화해서 바꾼다.
+    private double estimatedLimit;
+
+    private long rttNoLoad;
+
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return 한도 안이면 끝날 때 release 해야 하는 Permit, 넘으면 null
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.limit) {
+                return null;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return this.limit;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (++this.samples % Math.max(1, (long) (PROBE_MULTIPLIER * this.estimatedLimit)) == 0) {
+            this.rttNoLoad = 0;
+        }
+        if (this.rttNoLoad == 0 || rttNanos < this.rttNoLoad) {
+            this.rttNoLoad = rttNanos;
+            return;
+        }
+
+        double limit = this.estimatedLimit;
+        double step = Math.max(1, Math.log10(limit));
+        double newLimit;
+        if (dropped) {
+            newLimit = limit - step;
+        } else if (inFlight * 2 < limit) {
+            // 한도의 절반도 안 쓰고 있으면 응답 시간으로 한도를 판단할 수 없다.
+            return;
+        } else {
+            double queueSize = Math.ceil(limit * (1 - (double) this.rttNoLoad / rttNanos));
+            if (queueSize <= step) {
+                newLimit = limit + 3 * step;
+            } else if (queueSize < 3 * step) {
+                newLimit = limit + step;
+            } else if (queueSize > 6 * step) {
+                newLimit = limit - step;
+            } else {
+                return;
+            }
+        }
+        this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+        this.limit = (int) this.estimatedLimit;
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+
+        private final int inFlight;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlight) {
+            this.startNanos = startNanos;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * 요청을 끝까지 처리했다. 두번째 호출부터는 무시한다.
+         */
+        public void release() {
+            release(false);
+        }
+
+        /**
+         * 시간 초과나 오류로 요청을 버렸다. 한도를 줄인다.
+         */
+        public void dropped() {
+            release(true);
+        }
+
+        private void release(boolean dropped) {
+            if (this.released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.inFlight.decrementAndGet();
+                onSample(System.nanoTime() - this.startNanos, this.inFlight, dropped);
+            }
+        }
+    }
+}
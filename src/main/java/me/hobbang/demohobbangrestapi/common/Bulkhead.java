@@ -0,0 +1,143 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 컨트롤러 메소드를 전용 스레드 풀에서 비동기로 실행한다.
+ * 읽기와 쓰기가 따로 풀을 쓰므로 한쪽이 DB에서 막혀도 다른 쪽과 톰캣 스레드는 계속 돈다.
+ * 동시에 처리하는 요청 수는 AdaptiveConcurrencyLimiter가 정하고, 넘는 요청은 BulkheadFullException으로 바로 거절한다.
+ * 지표: bulkhead.limit, bulkhead.in.flight, bulkhead.rejected, executor.* (name 태그)
+ */
+public class Bulkhead implements DisposableBean {
+
+    private final String name;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final long timeoutMillis;
+
+    private final Counter rejected;
+
+    public Bulkhead(String name, ThreadPoolTaskExecutor executor, AdaptiveConcurrencyLimiter limiter,
+                    Duration timeout, MeterRegistry registry) {
+        this.name = name;
+        this.executor = executor;
+        this.limiter = limiter;
+        this.timeoutMillis = timeout.toMillis();
+
+        Tags tags = Tags.of("name", name);
+        Gauge.builder("bulkhead.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("bulkhead.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests admitted and not yet finished")
+                .tags(tags)
+                .register(registry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .tags(tags)
+                .register(registry);
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty()).bindTo(registry);
+    }
+
+    /**
+     * 한도 안이면 task를 풀에서 실행하는 WebAsyncTask를 돌려준다.
+     * 시간이 지나면 스프링 MVC가 AsyncRequestTimeoutException으로 503을 응답한다.
+     * 풀의 대기열까지 차면 스프링 MVC가 RejectedExecutionException을 컨트롤러로 넘긴다.
+     * 한도는 task가 실제로 끝날 때 돌려준다. 요청이 먼저 끝나도 task가 도는 동안은 DB를 쓰고 있기 때문이다.
+     *
+     * @throws BulkheadFullException 한도를 넘었을 때
+     */
+    public <T> WebAsyncTask<T> submit(Callable<T> task) {
+        AdaptiveConcurrencyLimiter.Permit permit = acquire();
+        AtomicBoolean started = new AtomicBoolean();
+        AtomicBoolean completed = new AtomicBoolean();
+        WebAsyncTask<T> asyncTask = new WebAsyncTask<>(this.timeoutMillis, this.executor, () -> {
+            if (!started.compareAndSet(false, true)) {
+                // 대기열에 있는 동안 요청이 끝났다. 한도는 이미 돌려줬다.
+                return null;
+            }
+            try {
+                return task.call();
+            } finally {
+                // 요청이 먼저 끝났으면(시간 초과, 연결 끊김) 늦은 응답이므로 한도를 줄인다.
+                if (completed.get()) {
+                    permit.dropped();
+                } else {
+                    permit.release();
+                }
+            }
+        });
+        asyncTask.onCompletion(() -> {
+            completed.set(true);
+            // task가 시작도 못했다. (대기열에서 시간 초과, 풀이 거절)
+            if (started.compareAndSet(false, true)) {
+                permit.dropped();
+            }
+        });
+        return asyncTask;
+    }
+
+    /**
+     * 한도 안이면 다 쓴 뒤에 한도를 돌려주는 StreamingResponseBody로 감싼다.
+     * StreamingResponseBody는 스프링 MVC의 비동기 executor(applicationTaskExecutor)에서 실행되므로 한도만 같이 쓴다.
+     * 본문이 시작도 못하고 시간 초과나 연결 끊김으로 요청이 끝나도 한도를 돌려주도록 webRequest의 비동기 처리에 건다.
+     *
+     * @throws BulkheadFullException 한도를 넘었을 때
+     */
+    public StreamingResponseBody stream(WebRequest webRequest, StreamingResponseBody body) {
+        AdaptiveConcurrencyLimiter.Permit permit = acquire();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(Bulkhead.class.getName() + "." + this.name,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        // 본문을 끝까지 썼으면 이미 release 했으므로 무시된다.
+                        permit.dropped();
+                    }
+                });
+        return outputStream -> {
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                permit.release();
+            }
+        };
+    }
+
+    private AdaptiveConcurrencyLimiter.Permit acquire() {
+        AdaptiveConcurrencyLimiter.Permit permit = this.limiter.tryAcquire();
+        if (permit == null) {
+            this.rejected.increment();
+            throw new BulkheadFullException(this.name);
+        }
+        return permit;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return this.limiter;
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+    }
+}
@@ -0,0 +1,8 @@
+package me.hobbang.demohobbangrestapi.common;
+
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String name) {
+        super("Too many concurrent requests for " + name);
+    }
+}
@@ -0,0 +1,24 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import org.springframework.hateoas.PagedResources;
+
+/**
+ * totalElements가 정확한 값인지 근사값인지 함께 알려주는 페이지 메타데이터.
+ */
+public class CountAwarePageMetadata extends PagedResources.PageMetadata {
+
+    public enum TotalElementsType {
+        EXACT, ESTIMATED
+    }
+
+    private final TotalElementsType totalElementsType;
+
+    public CountAwarePageMetadata(PagedResources.PageMetadata metadata, TotalElementsType totalElementsType) {
+        super(metadata.getSize(), metadata.getNumber(), metadata.getTotalElements(), metadata.getTotalPages());
+        this.totalElementsType = totalElementsType;
+    }
+
+    public TotalElementsType getTotalElementsType() {
+        return totalElementsType;
+    }
+}
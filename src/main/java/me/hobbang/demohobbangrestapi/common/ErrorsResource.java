@@ -3,15 +3,17 @@ package me.hobbang.demohobbangrestapi.common;
 import me.hobbang.demohobbangrestapi.index.IndexController;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.validation.Errors;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
+import java.lang.reflect.Method;
 
 public class ErrorsResource extends Resource<Errors> {
 
+    private static final Method INDEX = ReflectionUtils.findMethod(IndexController.class, "index");
+
     public ErrorsResource(Errors content, Link... links) {
         super(content, links);
-        add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
+        add(new Link(LinkFactory.href(IndexController.class, INDEX), "index"));
     }
 }
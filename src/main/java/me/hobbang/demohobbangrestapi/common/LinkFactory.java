@@ -0,0 +1,72 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 컨트롤러 링크의 href를 미리 계산해 두고 문자열 연결로 링크를 만든다.
+ * ControllerLinkBuilder는 호출할 때마다 요청 매핑과 현재 요청(호스트, X-Forwarded-*)을 다시 읽기 때문에
+ * 요청이 있으면 요청 속성에 한번만, 요청이 없으면(상대 경로) 애플리케이션 전체에서 한번만 계산한다.
+ */
+public final class LinkFactory {
+
+    private static final String ATTRIBUTE_PREFIX = LinkFactory.class.getName() + ".";
+
+    // 요청 밖에서는 ControllerLinkBuilder가 상대 경로를 돌려주므로 결과가 바뀌지 않는다.
+    private static final Map<String, String> RELATIVE_HREFS = new ConcurrentHashMap<>();
+
+    private LinkFactory() {
+    }
+
+    /**
+     * {@code linkTo(controller)}와 같은 href.
+     */
+    public static String href(Class<?> controller) {
+        return resolve(controller.getName(), () -> ControllerLinkBuilder.linkTo(controller).toString());
+    }
+
+    /**
+     * {@code linkTo(controller).slash(id)}와 같은 href.
+     */
+    public static String href(Class<?> controller, Object id) {
+        return href(controller) + "/" + id;
+    }
+
+    /**
+     * 파라미터가 없는 핸들러 메소드에 대한 {@code linkTo(methodOn(...).method())}와 같은 href.
+     */
+    public static String href(Class<?> controller, Method method) {
+        return resolve(controller.getName() + "#" + method.getName(),
+                () -> ControllerLinkBuilder.linkTo(controller, method).toString());
+    }
+
+    public static Link linkTo(Class<?> controller, String rel) {
+        return new Link(href(controller), rel);
+    }
+
+    public static Link linkTo(Class<?> controller, Object id, String rel) {
+        return new Link(href(controller, id), rel);
+    }
+
+    private static String resolve(String key, Supplier<String> supplier) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return RELATIVE_HREFS.computeIfAbsent(key, k -> supplier.get());
+        }
+
+        String attributeName = ATTRIBUTE_PREFIX + key;
+        String href = (String) requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (href == null) {
+            href = supplier.get();
+            requestAttributes.setAttribute(attributeName, href, RequestAttributes.SCOPE_REQUEST);
+        }
+        return href;
+    }
+}
@@ -0,0 +1,18 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import org.hibernate.dialect.PostgreSQL95Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * JPQL에서 fts(name, description, q) = true 로 전문 검색을 할 수 있게 한다.
+ * 식은 db/postgresql/V2__event_indexes.sql의 GIN 인덱스 식과 같아야 인덱스를 탄다.
+ */
+public class PostgreSQLFtsDialect extends PostgreSQL95Dialect {
+
+    public PostgreSQLFtsDialect() {
+        super();
+        registerFunction("fts", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                "(to_tsvector('simple', coalesce(?1, '') || ' ' || coalesce(?2, '')) @@ plainto_tsquery('simple', ?3))"));
+    }
+}
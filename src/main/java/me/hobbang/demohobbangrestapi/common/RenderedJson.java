@@ -0,0 +1,14 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 이미 JSON으로 만들어 둔 조각을 이어 쓰는 응답 본문.
+ * RenderedJsonHttpMessageConverter가 ObjectMapper를 거치지 않고 응답에 그대로 쓴다.
+ */
+@FunctionalInterface
+public interface RenderedJson {
+
+    void writeTo(OutputStream outputStream) throws IOException;
+}
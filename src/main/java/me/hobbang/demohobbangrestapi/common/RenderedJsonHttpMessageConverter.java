@@ -0,0 +1,41 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * RenderedJson 본문을 응답에 그대로 쓴다. 읽기는 지원하지 않는다.
+ * Jackson 컨버터는 어떤 객체든 쓰려고 하므로 그보다 앞에 등록해야 한다. (WebConfig)
+ */
+public class RenderedJsonHttpMessageConverter extends AbstractHttpMessageConverter<RenderedJson> {
+
+    public RenderedJsonHttpMessageConverter() {
+        super(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RenderedJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RenderedJson readInternal(Class<? extends RenderedJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("RenderedJson is write only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(RenderedJson renderedJson, HttpOutputMessage outputMessage) throws IOException {
+        renderedJson.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,74 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스프링 데이터 리포지토리 메소드 호출 시간. (spring.data.repository.invocations)
+ * repository, method, state(SUCCESS/ERROR) 태그를 붙이고 Timer는 (리포지토리, 메소드)마다 한번만 만든다.
+ */
+@Aspect
+public class RepositoryMetricsAspect {
+
+    static final String TIMER = "spring.data.repository.invocations";
+
+    private final MeterRegistry registry;
+
+    private final Map<Class<?>, Map<Method, Timer[]>> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer[] timers = timers(joinPoint.getThis().getClass(), joinPoint);
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            (success ? timers[0] : timers[1]).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] timers(Class<?> proxyClass, ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return this.timers.computeIfAbsent(proxyClass, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> {
+                    String repository = repositoryName(joinPoint.getThis());
+                    return new Timer[]{timer(repository, m, "SUCCESS"), timer(repository, m, "ERROR")};
+                });
+    }
+
+    private Timer timer(String repository, Method method, String state) {
+        return Timer.builder(TIMER)
+                .description("Duration of Spring Data repository invocations")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .tag("state", state)
+                .register(this.registry);
+    }
+
+    private static String repositoryName(Object proxy) {
+        for (Class<?> userInterface : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if (Repository.class.isAssignableFrom(userInterface)) {
+                return userInterface.getSimpleName();
+            }
+        }
+        return proxy.getClass().getSimpleName();
+    }
+}
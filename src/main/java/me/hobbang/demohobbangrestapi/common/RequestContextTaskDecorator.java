@@ -0,0 +1,35 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 비동기로 실행하는 작업에서도 현재 요청을 읽을 수 있게 한다. (LinkFactory, ServletUriComponentsBuilder.fromCurrentRequest)
+ * 요청 스레드의 RequestAttributes는 첫 디스패치가 끝나면 비활성이 되므로 같은 요청으로 새로 만든다.
+ * SecurityContext와 EntityManager는 스프링 시큐리티와 OpenEntityManagerInViewInterceptor가 Callable마다 넘겨준다.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return runnable;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        return () -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+            try {
+                runnable.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 본문 직렬화 시간. (http.server.serialization)
+ * 컨버터가 쓰기 직전(beforeBodyWrite)부터 핸들러 처리가 끝날 때(afterCompletion)까지 잰다.
+ * http.server.requests에서 이 값을 빼면 컨트롤러 안에서 쓴 시간이 된다.
+ * MetricsConfig에서 인터셉터로도 등록해야 한다.
+ */
+@ControllerAdvice
+public class SerializationMetrics implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    static final String TIMER = "http.server.serialization";
+
+    private static final String STARTED = SerializationMetrics.class.getName() + ".started";
+
+    private final MeterRegistry registry;
+
+    // uri 태그는 매핑 패턴이라 개수가 정해져 있다.
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SerializationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest().setAttribute(STARTED, System.nanoTime());
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        this.timers.computeIfAbsent(uri, u -> Timer.builder(TIMER)
+                .description("Time spent writing response bodies")
+                .tag("uri", u)
+                .register(this.registry))
+                .record(System.nanoTime() - (long) started, TimeUnit.NANOSECONDS);
+    }
+}
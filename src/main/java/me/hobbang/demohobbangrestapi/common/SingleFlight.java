@@ -0,0 +1,97 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 같은 키를 동시에 읽으면 먼저 온 호출(leader)만 loader를 실행하고 나머지는 그 결과를 같이 받는다.
+ * 결과를 보관하지 않으므로 loader가 끝난 뒤에 온 호출은 다시 읽는다. (캐시가 아니다)
+ * leader가 timeout 안에 끝나지 않으면 기다리던 호출은 직접 loader를 실행한다.
+ * 지표: singleflight.calls (name, result=leader|shared|timeout), singleflight.in.flight (name)
+ */
+public class SingleFlight<K, V> {
+
+    private final long timeoutNanos;
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+
+    private final Counter shared;
+
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry registry) {
+        this.timeoutNanos = timeout.toNanos();
+        this.leaders = calls(name, "leader", registry);
+        this.shared = calls(name, "shared", registry);
+        this.timeouts = calls(name, "timeout", registry);
+        Gauge.builder("singleflight.in.flight", this.inFlight, Map::size)
+                .description("Keys currently being loaded")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    /**
+     * loader가 던진 예외는 leader와 기다리던 호출에 그대로 던진다.
+     */
+    public V execute(K key, Callable<V> loader) throws Exception {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> leading = this.inFlight.putIfAbsent(key, future);
+        if (leading == null) {
+            this.leaders.increment();
+            return load(key, future, loader);
+        }
+
+        try {
+            V value = leading.get(this.timeoutNanos, TimeUnit.NANOSECONDS);
+            this.shared.increment();
+            return value;
+        } catch (ExecutionException e) {
+            this.shared.increment();
+            throw rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            // leader가 막혀 있다. 같이 기다리지 않고 따로 읽는다.
+            this.timeouts.increment();
+            return loader.call();
+        }
+    }
+
+    private V load(K key, CompletableFuture<V> future, Callable<V> loader) throws Exception {
+        try {
+            V value = loader.call();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, future);
+        }
+    }
+
+    private static Exception rethrow(Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return (Exception) cause;
+    }
+
+    private static Counter calls(String name, String result, MeterRegistry registry) {
+        return Counter.builder("singleflight.calls")
+                .description("Loads by whether the caller ran the loader or shared another caller's result")
+                .tag("name", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
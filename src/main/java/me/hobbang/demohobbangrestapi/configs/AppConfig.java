@@ -3,28 +3,37 @@ package me.hobbang.demohobbangrestapi.configs;
 import me.hobbang.demohobbangrestapi.accounts.Account;
 import me.hobbang.demohobbangrestapi.accounts.AccountRole;
 import me.hobbang.demohobbangrestapi.accounts.AccountService;
-import org.modelmapper.ModelMapper;
+import me.hobbang.demohobbangrestapi.accounts.AdaptivePasswordEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Set;
 
 @Configuration
+@EnableConfigurationProperties(PasswordProperties.class)
 public class AppConfig {
 
     @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordProperties passwordProperties) {
+        int strength = passwordProperties.getStrength() != null
+                ? passwordProperties.getStrength()
+                : AdaptivePasswordEncoder.calibrate(passwordProperties.getTargetHashTime());
+
+        // 비밀번호 해시 전용. 요청 스레드는 결과를 기다리기만 하고 동시에 계산하는 해시 수는 여기서 제한된다.
+        // Executor 빈으로 등록하면 스프링 부트의 기본 applicationTaskExecutor가 빠지므로 인코더가 직접 들고 있는다.
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordProperties.getHashThreads());
+        executor.setMaxPoolSize(passwordProperties.getHashThreads());
+        executor.setQueueCapacity(passwordProperties.getHashQueueCapacity());
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return new AdaptivePasswordEncoder(strength, executor);
     }
 
     @Bean
@@ -0,0 +1,49 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.hobbang.demohobbangrestapi.common.AdaptiveConcurrencyLimiter;
+import me.hobbang.demohobbangrestapi.common.Bulkhead;
+import me.hobbang.demohobbangrestapi.common.RequestContextTaskDecorator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    // 빈으로 등록하면 스프링 부트가 applicationTaskExecutor(StreamingResponseBody를 실행하는 풀)에도 붙인다.
+    @Bean
+    public RequestContextTaskDecorator requestContextTaskDecorator() {
+        return new RequestContextTaskDecorator();
+    }
+
+    @Bean
+    public Bulkhead eventReadBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        return bulkhead("events.read", properties.getRead(), requestContextTaskDecorator(), meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead eventWriteBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        return bulkhead("events.write", properties.getWrite(), requestContextTaskDecorator(), meterRegistry);
+    }
+
+    // Executor 빈으로 등록하면 스프링 부트의 기본 applicationTaskExecutor가 빠지므로 Bulkhead가 직접 들고 있는다.
+    private static Bulkhead bulkhead(String name, BulkheadProperties.Pool pool, TaskDecorator taskDecorator,
+                                     MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pool.getThreads());
+        executor.setMaxPoolSize(pool.getThreads());
+        // 한도까지 받은 요청은 모두 대기열에 들어갈 수 있어야 한다. 넘는 요청은 리미터가 먼저 거절한다.
+        executor.setQueueCapacity(pool.getMaxLimit());
+        executor.setThreadNamePrefix(name + "-");
+        executor.setTaskDecorator(taskDecorator);
+        executor.initialize();
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(pool.getInitialLimit(), pool.getMinLimit(),
+                pool.getMaxLimit());
+        return new Bulkhead(name, executor, limiter, pool.getTimeout(), meterRegistry);
+    }
+}
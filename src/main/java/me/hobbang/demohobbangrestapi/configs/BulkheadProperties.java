@@ -0,0 +1,53 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.events.bulkhead")
+public class BulkheadProperties {
+
+    // 조회 (목록, 커서, 검색, 단건)
+    private final Pool read = new Pool(20);
+
+    // 생성, 수정
+    private final Pool write = new Pool(10);
+
+    @Getter @Setter
+    public static class Pool {
+
+        private int threads;
+
+        // 동시에 받는 요청 수는 응답 시간을 보고 min-limit와 max-limit 사이에서 조절한다.
+        // 스레드 수보다 많이 받은 요청은 풀의 대기열에서 기다린다.
+        // 없으면 스레드 수.
+        private Integer initialLimit;
+
+        // 스레드 수보다 적게 받으면 스레드가 놀기만 하므로 없으면 스레드 수.
+        private Integer minLimit;
+
+        // 없으면 스레드 수 * 4.
+        private Integer maxLimit;
+
+        private Duration timeout = Duration.ofSeconds(10);
+
+        Pool(int threads) {
+            this.threads = threads;
+        }
+
+        public int getInitialLimit() {
+            return this.initialLimit != null ? this.initialLimit : this.threads;
+        }
+
+        public int getMinLimit() {
+            return this.minLimit != null ? this.minLimit : this.threads;
+        }
+
+        public int getMaxLimit() {
+            return this.maxLimit != null ? this.maxLimit : this.threads * 4;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        if (!cacheProperties.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager() {
+            @Override
+            protected Cache getMissingCache(String name) {
+                // 스펙이 없는 캐시는 꺼진 것으로 본다.
+                return new NoOpCache(name);
+            }
+        };
+        cacheManager.setCaches(cacheProperties.getSpecs().entrySet().stream()
+                .map(spec -> new CaffeineCache(spec.getKey(), Caffeine.from(spec.getValue()).build()))
+                .collect(Collectors.toList()));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,19 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    // false면 모든 캐시를 끈다.
+    private boolean enabled = true;
+
+    // 캐시 이름별 Caffeine 스펙. (예: maximumSize=10000,expireAfterWrite=10m,recordStats)
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
@@ -0,0 +1,68 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시작할 때 커넥션 풀 크기와 톰캣 스레드 수가 맞지 않으면 경고한다.
+ * 요청 스레드가 풀보다 너무 많으면 연결을 기다리다 connection-timeout으로 실패하고,
+ * 풀이 스레드보다 크면 쓰지 않는 연결이 DB의 max_connections만 차지한다.
+ */
+public class DataSourcePoolCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePoolCheck.class);
+
+    // 요청 스레드 대부분은 DB 밖(직렬화, 해시, 네트워크)에서 시간을 쓰므로 연결 하나에 이 정도까지는 괜찮다.
+    static final int MAX_THREADS_PER_CONNECTION = 4;
+
+    private final DataSource dataSource;
+
+    private final ServerProperties serverProperties;
+
+    private final DataSourcePoolProperties poolProperties;
+
+    public DataSourcePoolCheck(DataSource dataSource, ServerProperties serverProperties,
+                               DataSourcePoolProperties poolProperties) {
+        this.dataSource = dataSource;
+        this.serverProperties = serverProperties;
+        this.poolProperties = poolProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        if (!(this.dataSource instanceof HikariDataSource)) {
+            return;
+        }
+        int poolSize = ((HikariDataSource) this.dataSource).getMaximumPoolSize();
+        int maxThreads = this.serverProperties.getTomcat().getMaxThreads();
+        for (String warning : warnings(poolSize, maxThreads, this.poolProperties)) {
+            log.warn(warning);
+        }
+    }
+
+    static List<String> warnings(int poolSize, int maxThreads, DataSourcePoolProperties poolProperties) {
+        List<String> warnings = new ArrayList<>();
+        if (poolSize > maxThreads) {
+            warnings.add(String.format("Connection pool size %d is larger than server.tomcat.max-threads %d;"
+                    + " the extra connections are never used by requests", poolSize, maxThreads));
+        }
+        if (maxThreads > poolSize * MAX_THREADS_PER_CONNECTION) {
+            warnings.add(String.format("server.tomcat.max-threads %d is more than %d times the connection pool size %d;"
+                    + " requests will queue for connections under load", maxThreads, MAX_THREADS_PER_CONNECTION, poolSize));
+        }
+        Integer limit = poolProperties.perInstanceLimit();
+        if (limit != null && poolSize > limit) {
+            warnings.add(String.format("Connection pool size %d exceeds this instance's share %d of"
+                    + " app.datasource.pool.db-max-connections %d", poolSize, limit, poolProperties.getDbMaxConnections()));
+        }
+        return warnings;
+    }
+}
@@ -0,0 +1,49 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourcePoolConfig {
+
+    private static final String MAX_THREADS = "server.tomcat.max-threads";
+
+    // BeanPostProcessor는 다른 빈보다 먼저 만들어지므로 프로퍼티를 직접 바인딩한다.
+    @Bean
+    public static BeanPostProcessor dataSourcePoolSizer(Environment environment) {
+        DataSourcePoolProperties properties = Binder.get(environment)
+                .bind("app.datasource.pool", DataSourcePoolProperties.class)
+                .orElseGet(DataSourcePoolProperties::new);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (properties.isAutoSize() && bean instanceof HikariDataSource) {
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    dataSource.setMaximumPoolSize(properties.size());
+                    // 고정 크기 풀. 부하가 몰릴 때 연결을 새로 맺느라 늦어지지 않게 한다.
+                    dataSource.setMinimumIdle(properties.size());
+                }
+                // 요청 스레드 수를 따로 정하지 않았으면 풀 크기에 맞춘다.
+                if (properties.isAutoSize() && bean instanceof ServerProperties && !environment.containsProperty(MAX_THREADS)) {
+                    ((ServerProperties) bean).getTomcat().setMaxThreads(properties.maxThreads());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public DataSourcePoolCheck dataSourcePoolCheck(DataSource dataSource, ServerProperties serverProperties,
+                                                   DataSourcePoolProperties poolProperties) {
+        return new DataSourcePoolCheck(dataSource, serverProperties, poolProperties);
+    }
+}
@@ -0,0 +1,43 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.datasource.pool")
+public class DataSourcePoolProperties {
+
+    // true면 spring.datasource.hikari.maximum-pool-size 대신 아래 값으로 풀 크기를 계산한다.
+    private boolean autoSize = false;
+
+    // 풀 크기 = CPU 수 * 2 + 1. (HikariCP 권장식, 디스크 대기는 1로 본다)
+    private int cores = Runtime.getRuntime().availableProcessors();
+
+    // PostgreSQL max_connections. 없으면 DB 쪽 제한은 보지 않는다.
+    private Integer dbMaxConnections;
+
+    // 관리 작업(psql, 마이그레이션)용으로 남겨둘 연결 수.
+    private int reservedConnections = 3;
+
+    // 같은 DB를 쓰는 애플리케이션 노드 수.
+    private int instances = 1;
+
+    public int size() {
+        int size = this.cores * 2 + 1;
+        Integer limit = perInstanceLimit();
+        return limit == null ? size : Math.max(1, Math.min(size, limit));
+    }
+
+    // 요청 스레드 수. 연결 하나에 DataSourcePoolCheck가 허용하는 만큼 스레드를 둔다.
+    public int maxThreads() {
+        return size() * DataSourcePoolCheck.MAX_THREADS_PER_CONNECTION;
+    }
+
+    Integer perInstanceLimit() {
+        if (this.dbMaxConnections == null) {
+            return null;
+        }
+        return (this.dbMaxConnections - this.reservedConnections) / Math.max(1, this.instances);
+    }
+}
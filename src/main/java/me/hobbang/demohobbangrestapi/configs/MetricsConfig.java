@@ -0,0 +1,29 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.hobbang.demohobbangrestapi.common.RepositoryMetricsAspect;
+import me.hobbang.demohobbangrestapi.common.SerializationMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final SerializationMetrics serializationMetrics;
+
+    public MetricsConfig(SerializationMetrics serializationMetrics) {
+        this.serializationMetrics = serializationMetrics;
+    }
+
+    @Bean
+    public RepositoryMetricsAspect repositoryMetricsAspect(MeterRegistry meterRegistry) {
+        return new RepositoryMetricsAspect(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this.serializationMetrics);
+    }
+}
@@ -0,0 +1,24 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.password")
+public class PasswordProperties {
+
+    // bcrypt cost. 없으면 시작할 때 targetHashTime에 맞춰서 측정한다.
+    // 노드마다 측정값이 다르면 로그인할 때마다 해시가 바뀔 수 있으니 여러 노드면 고정하는 것이 좋다.
+    private Integer strength;
+
+    private Duration targetHashTime = Duration.ofMillis(100);
+
+    // 동시에 계산하는 해시 수. 기본은 CPU 수의 절반.
+    private int hashThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    // 대기할 수 있는 해시 요청 수. 넘으면 바로 실패시킨다.
+    private int hashQueueCapacity = 100;
+}
@@ -0,0 +1,35 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import me.hobbang.demohobbangrestapi.tokens.GcraRateLimiter;
+import me.hobbang.demohobbangrestapi.tokens.TokenEndpointRateLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<TokenEndpointRateLimitFilter> tokenEndpointRateLimitFilter(RateLimitProperties properties) {
+        TokenEndpointRateLimitFilter filter = new TokenEndpointRateLimitFilter(
+                limiter(properties.getIp(), properties.getMaxKeys()),
+                limiter(properties.getUsername(), properties.getMaxKeys()),
+                limiter(properties.getClient(), properties.getMaxKeys()),
+                properties.getMaxConcurrent());
+
+        FilterRegistrationBean<TokenEndpointRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/oauth/token");
+        // 클라이언트 인증(bcrypt)을 하는 스프링 시큐리티 필터보다 먼저 실행한다.
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    private static GcraRateLimiter limiter(RateLimitProperties.Bucket bucket, long maxKeys) {
+        return new GcraRateLimiter(bucket.getCapacity(), bucket.getRefillPeriod(), maxKeys);
+    }
+}
@@ -0,0 +1,41 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // /oauth/token을 동시에 처리하는 최대 요청 수. 넘으면 기다리지 않고 429.
+    private int maxConcurrent = 16;
+
+    // 키별 버킷을 기억하는 최대 개수. (IP, username, client 각각)
+    private long maxKeys = 100_000;
+
+    private final Bucket ip = new Bucket(20, Duration.ofSeconds(3));
+
+    private final Bucket username = new Bucket(10, Duration.ofSeconds(6));
+
+    private final Bucket client = new Bucket(200, Duration.ofMillis(10));
+
+    @Getter @Setter
+    public static class Bucket {
+
+        // 한번에 허용하는 요청 수
+        private int capacity;
+
+        // 요청 하나가 다시 허용되는 시간
+        private Duration refillPeriod;
+
+        public Bucket(int capacity, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
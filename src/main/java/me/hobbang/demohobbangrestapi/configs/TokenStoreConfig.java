@@ -0,0 +1,63 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import me.hobbang.demohobbangrestapi.tokens.CachingJdbcTokenStore;
+import me.hobbang.demohobbangrestapi.tokens.CachingJwtAccessTokenConverter;
+import me.hobbang.demohobbangrestapi.tokens.JwtRevocationList;
+import me.hobbang.demohobbangrestapi.tokens.RevocableJwtTokenStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(TokenStoreProperties.class)
+public class TokenStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.token-store.type", havingValue = "jdbc", matchIfMissing = true)
+    public TokenStore jdbcTokenStore(DataSource dataSource, CacheManager cacheManager,
+                                     TokenStoreProperties tokenStoreProperties) {
+        return new CachingJdbcTokenStore(dataSource, cacheManager.getCache("access-tokens"),
+                tokenStoreProperties.getPurgeBatchSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.token-store.type", havingValue = "memory")
+    public TokenStore inMemoryTokenStore() {
+        return new InMemoryTokenStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.token-store.type", havingValue = "jwt")
+    public CachingJwtAccessTokenConverter jwtAccessTokenConverter(CacheManager cacheManager,
+                                                                  TokenStoreProperties tokenStoreProperties) {
+        String signingKey = tokenStoreProperties.getJwt().getSigningKey();
+        if (!StringUtils.hasText(signingKey)) {
+            throw new IllegalStateException("app.token-store.jwt.signing-key is required when app.token-store.type=jwt");
+        }
+        CachingJwtAccessTokenConverter converter = new CachingJwtAccessTokenConverter(cacheManager.getCache("jwt-claims"));
+        converter.setSigningKey(signingKey);
+        return converter;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.token-store.type", havingValue = "jwt")
+    public JwtRevocationList jwtRevocationList() {
+        return new JwtRevocationList();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.token-store.type", havingValue = "jwt")
+    public TokenStore jwtTokenStore(CachingJwtAccessTokenConverter jwtAccessTokenConverter,
+                                    JwtRevocationList jwtRevocationList) {
+        return new RevocableJwtTokenStore(jwtAccessTokenConverter, jwtRevocationList);
+    }
+}
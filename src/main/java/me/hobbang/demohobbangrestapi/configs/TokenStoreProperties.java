@@ -0,0 +1,30 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.token-store")
+public class TokenStoreProperties {
+
+    // jdbc면 여러 노드가 oauth_* 테이블을 공유한다. memory는 재시작하면 토큰이 사라진다.
+    // jwt는 서명된 토큰을 발급하고 저장소 없이 검증한다.
+    private Type type = Type.JDBC;
+
+    // 만료 토큰 정리 때 한번에 지우는 행 수.
+    private int purgeBatchSize = 500;
+
+    private final Jwt jwt = new Jwt();
+
+    public enum Type {
+        JDBC, MEMORY, JWT
+    }
+
+    @Getter @Setter
+    public static class Jwt {
+
+        // HMAC 서명 키. 모든 노드가 같은 키를 써야 한다.
+        private String signingKey;
+    }
+}
@@ -0,0 +1,18 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import me.hobbang.demohobbangrestapi.common.RenderedJsonHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Jackson 컨버터보다 먼저 골라지도록 맨 앞에 둔다.
+        converters.add(0, new RenderedJsonHttpMessageConverter());
+    }
+}
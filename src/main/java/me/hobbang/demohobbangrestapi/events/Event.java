@@ -1,7 +1,9 @@
 package me.hobbang.demohobbangrestapi.events;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
 import me.hobbang.demohobbangrestapi.accounts.Account;
+import me.hobbang.demohobbangrestapi.accounts.AccountSerializer;
 
 
 import javax.persistence.*;
@@ -12,7 +14,10 @@ import java.time.LocalDateTime;
 @Entity
 public class Event {
 
-    @Id @GeneratedValue
+    // 대량 등록할 때 시퀀스를 건마다 호출하지 않도록 pooled 옵티마이저로 50개씩 미리 할당받는다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private String description;
@@ -28,8 +33,19 @@ public class Event {
     private boolean free;
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus = EventStatus.DRAFT;
-    @ManyToOne
+    // 목록과 내보내기에서 이벤트마다 계정을 읽지 않도록 지연 로딩하고 응답에는 id만 내보낸다.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonSerialize(using = AccountSerializer.class)
     private Account manager;
+    @Version
+    private Long version;
+    private LocalDateTime lastModifiedDateTime;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.lastModifiedDateTime = LocalDateTime.now();
+    }
 
     public void update() {
         // Update free
@@ -0,0 +1,117 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import me.hobbang.demohobbangrestapi.common.ErrorsResource;
+import me.hobbang.demohobbangrestapi.common.LinkFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+@Controller
+@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+public class EventBatchController {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final EventRepository eventRepository;
+
+    private final EventMapper eventMapper;
+
+    private final EventValidator eventValidator;
+
+    private final SpringValidatorAdapter beanValidator;
+
+    private final ObjectReader eventDtoReader;
+
+    private final int batchSize;
+
+    private final UpcomingEventIndex upcomingEventIndex;
+
+    public EventBatchController(EventRepository eventRepository, EventMapper eventMapper, EventValidator eventValidator,
+                                Validator validator, ObjectMapper objectMapper,
+                                @Value("${app.events.batch.size:100}") int batchSize,
+                                UpcomingEventIndex upcomingEventIndex) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.eventValidator = eventValidator;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.eventDtoReader = objectMapper.readerFor(EventDto.class);
+        this.batchSize = batchSize;
+        this.upcomingEventIndex = upcomingEventIndex;
+    }
+
+    /**
+     * JSON 배열 또는 NDJSON으로 받은 이벤트를 한 건씩 검증하고, 검증을 통과한 이벤트는 batchSize 단위로 저장한다.
+     * 요청 본문은 스트림으로 읽기 때문에 한번에 batchSize 만큼만 메모리에 올라간다.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity createEvents(InputStream body) throws IOException {
+        EventBatchResult result = new EventBatchResult();
+        List<Event> chunk = new ArrayList<>(this.batchSize);
+        int index = 0;
+
+        try (MappingIterator<EventDto> eventDtos = this.eventDtoReader.readValues(body)) {
+            while (eventDtos.hasNextValue()) {
+                EventDto eventDto = eventDtos.nextValue();
+                Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+                this.beanValidator.validate(eventDto, errors);
+                if (!errors.hasErrors()) {
+                    this.eventValidator.validate(eventDto, errors);
+                }
+
+                if (errors.hasErrors()) {
+                    result.addRejected(index, errors);
+                } else {
+                    Event event = this.eventMapper.toEvent(eventDto);
+                    event.update();
+                    chunk.add(event);
+                }
+                index++;
+
+                if (chunk.size() == this.batchSize) {
+                    flush(chunk, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // 형식이 잘못된 항목을 만나면 그 앞까지 저장한 결과와 함께 중단한다.
+            flush(chunk, result);
+            Errors errors = new MapBindingResult(new HashMap<>(), "events");
+            errors.reject("wrongFormat", "Item " + index + " is not a valid event: " + e.getOriginalMessage());
+            return ResponseEntity.badRequest().body(new ErrorsResource(errors));
+        }
+        flush(chunk, result);
+
+        result.add(LinkFactory.linkTo(EventController.class, "query-events"));
+        result.add(new Link("/docs/index.html#resources-events-batch").withRel("profile"));
+        return ResponseEntity.ok(result);
+    }
+
+    private void flush(List<Event> chunk, EventBatchResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        this.eventRepository.insertAll(chunk);
+        this.upcomingEventIndex.putAll(chunk);
+        result.addCreated(chunk.size());
+        chunk.clear();
+    }
+}
@@ -0,0 +1,41 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import lombok.Getter;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class EventBatchResult extends ResourceSupport {
+
+    private int created;
+
+    private int rejected;
+
+    private final List<ItemErrors> errors = new ArrayList<>();
+
+    void addCreated(int count) {
+        this.created += count;
+    }
+
+    void addRejected(int index, Errors errors) {
+        this.rejected++;
+        this.errors.add(new ItemErrors(index, errors));
+    }
+
+    @Getter
+    public static class ItemErrors {
+
+        private final int index;
+
+        // ErrorsSerializer로 직렬화된다.
+        private final Errors errors;
+
+        ItemErrors(int index, Errors errors) {
+            this.index = index;
+            this.errors = errors;
+        }
+    }
+}
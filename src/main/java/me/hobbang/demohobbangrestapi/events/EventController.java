@@ -1,111 +1,413 @@
 package me.hobbang.demohobbangrestapi.events;
 
+import me.hobbang.demohobbangrestapi.common.Bulkhead;
+import me.hobbang.demohobbangrestapi.common.BulkheadFullException;
+import me.hobbang.demohobbangrestapi.common.CountAwarePageMetadata;
+import me.hobbang.demohobbangrestapi.common.CountAwarePageMetadata.TotalElementsType;
 import me.hobbang.demohobbangrestapi.common.ErrorsResource;
-import org.modelmapper.ModelMapper;
+import me.hobbang.demohobbangrestapi.common.LinkFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
-
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
 public class EventController {
 
+    private static final Set<String> COUNT_MODES = Set.of("exact", "estimated", "none");
+
     private final EventRepository eventRepository;
 
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
 
     private final EventValidator eventValidator;
 
-    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator) {
+    private final EventCountEstimator eventCountEstimator;
+
+    private final EventMetrics eventMetrics;
+
+    private final EventLoads eventLoads;
+
+    private final EventJsonStore eventJsonStore;
+
+    private final UpcomingEventIndex upcomingEventIndex;
+
+    // 핸들러는 톰캣 스레드가 아니라 조회용, 수정용 풀에서 따로 실행한다.
+    private final Bulkhead readBulkhead;
+
+    private final Bulkhead writeBulkhead;
+
+    public EventController(EventRepository eventRepository, EventMapper eventMapper, EventValidator eventValidator,
+                           EventCountEstimator eventCountEstimator, EventMetrics eventMetrics, EventLoads eventLoads,
+                           EventJsonStore eventJsonStore, UpcomingEventIndex upcomingEventIndex,
+                           @Qualifier("eventReadBulkhead") Bulkhead readBulkhead,
+                           @Qualifier("eventWriteBulkhead") Bulkhead writeBulkhead) {
         this.eventRepository = eventRepository;
-        this.modelMapper = modelMapper;
+        this.eventMapper = eventMapper;
         this.eventValidator = eventValidator;
+        this.eventCountEstimator = eventCountEstimator;
+        this.eventMetrics = eventMetrics;
+        this.eventLoads = eventLoads;
+        this.eventJsonStore = eventJsonStore;
+        this.upcomingEventIndex = upcomingEventIndex;
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
     }
 
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors) {
-        if (errors.hasErrors()) {
-            return badRequest(errors);
+    public WebAsyncTask<ResponseEntity> createEvent(@RequestBody @Valid EventDto eventDto, Errors errors) {
+        return this.writeBulkhead.submit(() -> {
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            this.eventMetrics.validate().record(() -> eventValidator.validate(eventDto, errors));
+            if (errors.hasErrors()) {
+                this.eventMetrics.rejected(errors);
+                return badRequest(errors);
+            }
+
+            Event event = this.eventMetrics.map().record(() -> {
+                Event mapped = eventMapper.toEvent(eventDto);
+                mapped.update();
+                return mapped;
+            });
+            Event newEvent = this.eventRepository.save(event);
+            this.eventJsonStore.put(newEvent);
+            this.upcomingEventIndex.put(newEvent);
+
+            String selfHref = LinkFactory.href(EventController.class, newEvent.getId());
+            URI createdUri = URI.create(selfHref);
+            EventResource eventResource = this.eventMetrics.links().record(() -> {
+                EventResource resource = new EventResource(event);
+                resource.add(LinkFactory.linkTo(EventController.class, "query-events"));
+                resource.add(new Link(selfHref, "update-event"));
+                resource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
+                return resource;
+            });
+            return ResponseEntity.created(createdUri)
+                    .eTag(EventETags.of(newEvent.getVersion()))
+                    .lastModified(EventETags.lastModified(newEvent.getLastModifiedDateTime()))
+                    .body(eventResource);
+        });
+    }
+
+    @GetMapping
+    public WebAsyncTask<ResponseEntity> queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler,
+                                                    PagedResourcesAssembler<EventFieldsResource> fieldsAssembler,
+                                                    @RequestParam(defaultValue = "exact") String count,
+                                                    @RequestParam(required = false) String fields, WebRequest webRequest) {
+        return this.readBulkhead.submit(() -> {
+            Errors errors = new MapBindingResult(new HashMap<>(), "events");
+            if (!COUNT_MODES.contains(count)) {
+                errors.reject("wrongCount", "count must be one of exact, estimated, none");
+            }
+            EventFields eventFields = null;
+            if (fields != null) {
+                try {
+                    eventFields = EventFields.parse(fields);
+                } catch (IllegalArgumentException e) {
+                    errors.reject("wrongFields", e.getMessage());
+                }
+                for (Sort.Order order : pageable.getSort()) {
+                    if (!EventFields.SELECTABLE_PROPERTIES.contains(order.getProperty())) {
+                        errors.reject("wrongSort", "sort property is not supported: " + order.getProperty());
+                    }
+                }
+            }
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+            String representation = eventFields == null ? "" : eventFields.key();
+
+            // If-None-Match가 있으면 id, version만 먼저 읽어보고 바뀌지 않았으면 엔티티를 읽지 않고 304로 응답한다.
+            if (EventETags.hasIfNoneMatch(webRequest)) {
+                Slice<EventVersion> versions = this.eventRepository.findVersionsBy(pageable);
+                String eTag = EventETags.ofPage(versions.getContent(), EventVersion::getId, EventVersion::getVersion,
+                        totalElements(versions, pageable, count), representation);
+                if (webRequest.checkNotModified(eTag)) {
+                    return null;
+                }
+            }
+
+            if (eventFields != null) {
+                return queryEventFields(eventFields, pageable, fieldsAssembler, count);
+            }
+
+            // 같은 페이지를 동시에 요청하면 한번만 읽는다. 링크는 요청마다 만든다.
+            EventLoads.EventPage eventPage = this.eventLoads.findPage(pageable, count, () -> {
+                Slice<Event> loaded = "exact".equals(count)
+                        ? this.eventRepository.findAll(pageable)
+                        : this.eventRepository.findAllBy(pageable);
+                return new EventLoads.EventPage(loaded, totalElements(loaded, pageable, count));
+            });
+            Slice<Event> slice = eventPage.getSlice();
+            long totalElements = eventPage.getTotalElements();
+            String eTag = EventETags.ofPage(slice.getContent(), Event::getId, Event::getVersion, totalElements);
+
+            // 이벤트는 EventJsonStore에 만들어 둔 JSON을 이어 쓰고, 링크와 page는 빈 목록으로 만들어서 뒤에 붙인다.
+            if ("none".equals(count)) {
+                return ResponseEntity.ok().eTag(eTag)
+                        .body(this.eventJsonStore.page(slice.getContent(), queryEventsWithoutCount(slice, List.of())));
+            }
+            Page<Event> page = new PageImpl<>(List.of(), pageable, totalElements);
+            TotalElementsType totalElementsType = "exact".equals(count) ? TotalElementsType.EXACT : TotalElementsType.ESTIMATED;
+            return ResponseEntity.ok().eTag(eTag).body(this.eventJsonStore.page(slice.getContent(),
+                    toPagedResources(assembler.toResource(page, e -> new EventResource(e)), totalElementsType)));
+        });
+    }
+
+    /**
+     * fields로 고른 컬럼만 읽어서 응답한다. 엔티티를 만들지 않으므로 영속성 컨텍스트와 연관관계를 거치지 않는다.
+     */
+    private ResponseEntity queryEventFields(EventFields eventFields, Pageable pageable,
+                                            PagedResourcesAssembler<EventFieldsResource> assembler, String count) {
+        Slice<Object[]> slice = this.eventRepository.findFields(eventFields, pageable);
+        long totalElements = totalElements(slice, pageable, count);
+        String eTag = EventETags.ofPage(slice.getContent(), eventFields::id, eventFields::version, totalElements,
+                eventFields.key());
+        List<EventFieldsResource> content = eventFields.toResources(slice.getContent());
+
+        if ("none".equals(count)) {
+            return ResponseEntity.ok().eTag(eTag).body(queryEventsWithoutCount(slice, content));
+        }
+        Page<EventFieldsResource> page = new PageImpl<>(content, pageable, totalElements);
+        TotalElementsType totalElementsType = "exact".equals(count) ? TotalElementsType.EXACT : TotalElementsType.ESTIMATED;
+        // 이미 리소스로 바꿨으므로 그대로 쓴다.
+        return ResponseEntity.ok().eTag(eTag)
+                .body(toPagedResources(assembler.toResource(page, r -> r), totalElementsType));
+    }
+
+    private long totalElements(Slice<?> slice, Pageable pageable, String count) {
+        switch (count) {
+            case "exact":
+                return slice instanceof Page ? ((Page<?>) slice).getTotalElements() : this.eventRepository.count();
+            case "estimated":
+                // 근사값이 실제로 읽은 범위보다 작으면 읽은 범위에 맞춰서 페이지 링크가 어긋나지 않게 한다.
+                long lowerBound = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+                return Math.max(this.eventCountEstimator.estimate(), lowerBound);
+            default:
+                return -1;
         }
+    }
+
+    static <R extends ResourceSupport> PagedResources<R> toPagedResources(PagedResources<R> pagedResources,
+                                                                          TotalElementsType totalElementsType) {
+        var metadata = new CountAwarePageMetadata(pagedResources.getMetadata(), totalElementsType);
+        var countAwareResources = new PagedResources<>(pagedResources.getContent(), metadata, pagedResources.getLinks());
+        countAwareResources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+        return countAwareResources;
+    }
 
-        eventValidator.validate(eventDto, errors);
-        if (errors.hasErrors()) {
-            return badRequest(errors);
+    private <R extends ResourceSupport> Resources<R> queryEventsWithoutCount(Slice<?> slice, List<R> content) {
+        var resources = new Resources<>(content);
+        resources.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (slice.hasNext()) {
+            resources.add(pageLink(slice.nextPageable(), Link.REL_NEXT));
+        }
+        if (slice.hasPrevious()) {
+            resources.add(pageLink(slice.previousPageable(), Link.REL_PREVIOUS));
         }
+        resources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+        return resources;
+    }
 
-        Event event = modelMapper.map(eventDto, Event.class);
-        event.update();
-        Event newEvent = this.eventRepository.save(event);
+    private Link pageLink(Pageable pageable, String rel) {
+        String href = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", pageable.getPageNumber())
+                .replaceQueryParam("size", pageable.getPageSize())
+                .toUriString();
+        return new Link(href, rel);
+    }
+
+    @GetMapping(params = "cursor")
+    public WebAsyncTask<ResponseEntity> queryEventsByCursor(@RequestParam String cursor, Pageable pageable) {
+        return this.readBulkhead.submit(() -> {
+            EventCursor eventCursor;
+            try {
+                eventCursor = cursor.isBlank() ? EventCursor.first(pageable.getSort()) : EventCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+                errors.reject("wrongCursor", e.getMessage());
+                return badRequest(errors);
+            }
+
+            Slice<Event> slice = this.eventRepository.findAllByCursor(eventCursor, pageable.getPageSize());
+            List<Event> content = slice.getContent();
 
-        ControllerLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createdUri = selfLinkBuilder.toUri();
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-        eventResource.add(selfLinkBuilder.withRel("update-event"));
-        eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
-        return ResponseEntity.created(createdUri).body(eventResource);
+            // backward로 읽은 페이지는 다음 페이지가 항상 있고, forward로 읽은 페이지는 시작 위치가 있으면 이전 페이지가 있다.
+            boolean hasNext = eventCursor.isBackward() || slice.hasNext();
+            boolean hasPrevious = eventCursor.isBackward() ? slice.hasNext() : eventCursor.hasPosition();
+
+            var resources = new Resources<>(content.stream().map(EventResource::new).collect(Collectors.toList()));
+            resources.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+            if (hasNext && !content.isEmpty()) {
+                resources.add(cursorLink(eventCursor.after(content.get(content.size() - 1), false), pageable, Link.REL_NEXT));
+            }
+            if (hasPrevious && !content.isEmpty()) {
+                resources.add(cursorLink(eventCursor.after(content.get(0), true), pageable, Link.REL_PREVIOUS));
+            }
+            resources.add(new Link("/docs/index.html#resources-events-list-cursor").withRel("profile"));
+            return ResponseEntity.ok(resources);
+        });
     }
 
-    @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        var pagedResources = assembler.toResource(page, e -> new EventResource(e));
-        pagedResources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
-        return ResponseEntity.ok(pagedResources);
+    private Link cursorLink(EventCursor cursor, Pageable pageable, String rel) {
+        // 정렬 조건은 커서에 들어있으므로 page, sort 파라미터는 빼고 size만 유지한다.
+        String href = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .replaceQueryParam("size", pageable.getPageSize())
+                .replaceQueryParam("cursor", cursor.encode())
+                .toUriString();
+        return new Link(href, rel);
+    }
+
+    @GetMapping("/search")
+    public WebAsyncTask<ResponseEntity> searchEvents(@Valid EventSearch search, Errors errors, Pageable pageable,
+                                                     PagedResourcesAssembler<Event> assembler) {
+        return this.readBulkhead.submit(() -> {
+            if (search.getBeginEventFrom() != null && search.getBeginEventTo() != null
+                    && !search.getBeginEventFrom().isBefore(search.getBeginEventTo())) {
+                errors.rejectValue("beginEventTo", "wrongDateRange", "beginEventTo must be after beginEventFrom");
+            }
+            for (Sort.Order order : pageable.getSort()) {
+                if (!EventSearchQuery.SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                    errors.reject("wrongSort", "sort property is not supported: " + order.getProperty());
+                }
+            }
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            Page<Event> page = this.eventRepository.search(search, pageable);
+            var pagedResources = assembler.toResource(page, e -> new EventResource(e));
+            pagedResources.add(new Link("/docs/index.html#resources-events-search").withRel("profile"));
+            return ResponseEntity.ok(pagedResources);
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-        if (optionalEvent.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    public WebAsyncTask<ResponseEntity> getEvent(@PathVariable Integer id, WebRequest webRequest) {
+        return this.readBulkhead.submit(() -> {
+            // 조건부 요청이면 version만 먼저 읽어보고 바뀌지 않았으면 엔티티를 읽지 않고 304로 응답한다.
+            if (EventETags.isConditional(webRequest)) {
+                Optional<EventVersion> optionalVersion = this.eventRepository.findVersionById(id);
+                if (optionalVersion.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                EventVersion version = optionalVersion.get();
+                if (webRequest.checkNotModified(EventETags.of(version.getVersion()),
+                        EventETags.lastModified(version.getLastModifiedDateTime()))) {
+                    return null;
+                }
+            }
 
-        Event event = optionalEvent.get();
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(new Link("/docs/index.html#resources-events-get").withRel("profile"));
-        return ResponseEntity.ok(eventResource);
+            Optional<Event> optionalEvent = this.eventLoads.findById(id);
+            if (optionalEvent.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Event event = optionalEvent.get();
+            return ResponseEntity.ok()
+                    .eTag(EventETags.of(event.getVersion()))
+                    .lastModified(EventETags.lastModified(event.getLastModifiedDateTime()))
+                    .body(this.eventJsonStore.event(event, new Link("/docs/index.html#resources-events-get").withRel("profile")));
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity updateEvent(@PathVariable Integer id,
-                                      @RequestBody @Valid EventDto eventDto,
-                                      Errors errors) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-        if (optionalEvent.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    public WebAsyncTask<ResponseEntity> updateEvent(@PathVariable Integer id,
+                                                    @RequestBody @Valid EventDto eventDto,
+                                                    Errors errors,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return this.writeBulkhead.submit(() -> {
+            Optional<Event> optionalEvent = this.eventRepository.findForUpdateById(id);
+            if (optionalEvent.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
 
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
+            Event existingEvent = optionalEvent.get();
+            if (ifMatch != null && !EventETags.matches(ifMatch, EventETags.of(existingEvent.getVersion()))) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(EventETags.of(existingEvent.getVersion())).build();
+            }
 
-        this.eventValidator.validate(eventDto, errors);
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            this.eventMetrics.validate().record(() -> this.eventValidator.validate(eventDto, errors));
+            if (errors.hasErrors()) {
+                this.eventMetrics.rejected(errors);
+                return badRequest(errors);
+            }
+
+            this.eventMetrics.map().record(() -> this.eventMapper.update(eventDto, existingEvent));
+            Event savedEvent;
+            try {
+                savedEvent = this.eventRepository.save(existingEvent);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // 읽은 뒤에 다른 요청이 먼저 수정했다.
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            this.eventJsonStore.put(savedEvent);
+            this.upcomingEventIndex.put(savedEvent);
 
-        Event existingEvent = optionalEvent.get();
-        this.modelMapper.map(eventDto, existingEvent);
-        Event savedEvent = this.eventRepository.save(existingEvent);
+            EventResource eventResource = this.eventMetrics.links().record(() -> {
+                EventResource resource = new EventResource(savedEvent);
+                resource.add(new Link("/docs/index.html#resources-events-update").withRel("profile"));
+                return resource;
+            });
 
-        EventResource eventResource = new EventResource(savedEvent);
-        eventResource.add(new Link("/docs/index.html#resources-events-update").withRel("profile"));
+            return ResponseEntity.ok()
+                    .eTag(EventETags.of(savedEvent.getVersion()))
+                    .lastModified(EventETags.lastModified(savedEvent.getLastModifiedDateTime()))
+                    .body(eventResource);
+        });
+    }
+
+    @ExceptionHandler({BulkheadFullException.class, RejectedExecutionException.class})
+    public ResponseEntity serviceUnavailable(RuntimeException e) {
+        return overloaded(e);
+    }
 
-        return ResponseEntity.ok(eventResource);
+    // 한도를 넘었거나(BulkheadFullException) 스레드 풀 대기열이 찼다(RejectedExecutionException, TaskRejectedException).
+    static ResponseEntity overloaded(RuntimeException e) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "events");
+        // 풀이 거절한 메시지에는 executor 내부 상태가 들어 있어 그대로 내보내지 않는다.
+        errors.reject("overloaded", e instanceof BulkheadFullException ? e.getMessage() : "Too many queued requests");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorsResource(errors));
     }
 
     private ResponseEntity badRequest(Errors errors) {
@@ -0,0 +1,102 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 이벤트 전체 개수의 근사값을 TTL 동안 캐시해서 제공한다.
+ * PostgreSQL이면 플래너 통계(pg_class.reltuples)를 읽고, 그 외의 DB이거나 통계가 없으면 count(*)로 주기적으로 갱신한다.
+ */
+@Component
+public class EventCountEstimator {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCountEstimator.class);
+
+    // search_path를 따라 찾은 event 테이블 하나만 본다. 없으면 행이 없다.
+    private static final String RELTUPLES_SQL = "select reltuples::bigint from pg_class where oid = to_regclass('event')";
+
+    private final EventRepository eventRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long ttlNanos;
+
+    private final boolean postgres;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Estimate estimate;
+
+    public EventCountEstimator(EventRepository eventRepository, JdbcTemplate jdbcTemplate,
+                               @Value("${app.events.count-estimate.ttl:30s}") Duration ttl) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlNanos = ttl.toNanos();
+        this.postgres = isPostgres(jdbcTemplate);
+    }
+
+    public long estimate() {
+        Estimate current = this.estimate;
+        if (current == null) {
+            return refresh();
+        }
+        // 만료되면 한 스레드만 갱신하고 나머지는 이전 값을 그대로 사용한다.
+        if (current.isExpired() && this.refreshing.compareAndSet(false, true)) {
+            try {
+                return refresh();
+            } finally {
+                this.refreshing.set(false);
+            }
+        }
+        return current.count;
+    }
+
+    private long refresh() {
+        long count = -1;
+        if (this.postgres) {
+            List<Long> reltuples = this.jdbcTemplate.queryForList(RELTUPLES_SQL, Long.class);
+            count = reltuples.isEmpty() || reltuples.get(0) == null ? -1 : reltuples.get(0);
+        }
+        // 한번도 ANALYZE 되지 않은 테이블은 통계가 0 또는 -1이다.
+        if (count <= 0) {
+            count = this.eventRepository.count();
+        }
+        this.estimate = new Estimate(count, System.nanoTime() + this.ttlNanos);
+        return count;
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String productName = (String) JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), "getDatabaseProductName");
+            return "PostgreSQL".equalsIgnoreCase(productName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not determine database product, falling back to count(*) estimates", e);
+            return false;
+        }
+    }
+
+    private static class Estimate {
+
+        private final long count;
+
+        private final long expiresAt;
+
+        private Estimate(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - this.expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 키셋(seek) 페이징에 사용하는 커서.
+ * 정렬 키의 값과 id를 담아서 다음(또는 이전) 페이지의 시작 위치를 표현한다.
+ * 클라이언트에게는 Base64(URL-safe)로 인코딩된 불투명한 문자열로 전달된다.
+ */
+@Getter
+public class EventCursor {
+
+    private static final String DELIMITER = ",";
+
+    // 커서 페이징을 허용하는 정렬 키와 값 파서. 모두 (키, id) 인덱스가 있거나 id 자체다.
+    static final Map<String, Function<String, Comparable<?>>> SORTABLE_PROPERTIES = Map.of(
+            "id", Integer::valueOf,
+            "name", s -> s,
+            "beginEnrollmentDateTime", LocalDateTime::parse,
+            "beginEventDateTime", LocalDateTime::parse
+    );
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final boolean backward;
+    private final Integer id;
+    private final Comparable<?> value;
+
+    private EventCursor(String property, Sort.Direction direction, boolean backward, Integer id, Comparable<?> value) {
+        this.property = property;
+        this.direction = direction;
+        this.backward = backward;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * 첫 페이지용 커서. 정렬 조건 중 커서 페이징이 가능한 첫번째 키를 사용하고, 없으면 id 오름차순이다.
+     */
+    public static EventCursor first(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (SORTABLE_PROPERTIES.containsKey(order.getProperty())) {
+                return new EventCursor(order.getProperty(), order.getDirection(), false, null, null);
+            }
+        }
+        return new EventCursor("id", Sort.Direction.ASC, false, null, null);
+    }
+
+    public static EventCursor decode(String encoded) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor is not valid base64", e);
+        }
+
+        // 값은 마지막에 두어서 구분자가 들어있는 문자열도 그대로 복원한다.
+        String[] parts = decoded.split(DELIMITER, 5);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Cursor is malformed");
+        }
+
+        Function<String, Comparable<?>> parser = SORTABLE_PROPERTIES.get(parts[0]);
+        if (parser == null) {
+            throw new IllegalArgumentException("Cursor sort property is not supported: " + parts[0]);
+        }
+
+        try {
+            return new EventCursor(parts[0],
+                    Sort.Direction.fromString(parts[1]),
+                    "B".equals(parts[2]),
+                    Integer.valueOf(parts[3]),
+                    parser.apply(parts[4]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor is malformed", e);
+        }
+    }
+
+    /**
+     * 주어진 이벤트 다음(backward면 이전)부터 조회하는 커서를 만든다.
+     */
+    public EventCursor after(Event event, boolean backward) {
+        return new EventCursor(this.property, this.direction, backward, event.getId(), valueOf(event));
+    }
+
+    public boolean hasPosition() {
+        return this.id != null;
+    }
+
+    public String encode() {
+        String raw = String.join(DELIMITER,
+                this.property,
+                this.direction.name(),
+                this.backward ? "B" : "F",
+                String.valueOf(this.id),
+                String.valueOf(this.value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Comparable<?> valueOf(Event event) {
+        switch (this.property) {
+            case "name":
+                return event.getName();
+            case "beginEnrollmentDateTime":
+                return event.getBeginEnrollmentDateTime();
+            case "beginEventDateTime":
+                return event.getBeginEventDateTime();
+            default:
+                return event.getId();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Function;
+
+final class EventETags {
+
+    private EventETags() {
+    }
+
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * 목록은 Last-Modified가 없어서 If-None-Match로만 304가 될 수 있다.
+     */
+    static boolean hasIfNoneMatch(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    static long lastModified(LocalDateTime lastModifiedDateTime) {
+        if (lastModifiedDateTime == null) {
+            return -1;
+        }
+        return lastModifiedDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 목록 ETag. 페이지에 담긴 (id, version)과 응답에 들어가는 전체 개수로 만든다.
+     */
+    static <T> String ofPage(List<T> content, Function<T, Integer> id, Function<T, Long> version, long total) {
+        return ofPage(content, id, version, total, "");
+    }
+
+    /**
+     * 같은 페이지의 다른 표현(fields로 고른 컬럼 등)은 representation으로 구분한다.
+     */
+    static <T> String ofPage(List<T> content, Function<T, Integer> id, Function<T, Long> version, long total,
+                             String representation) {
+        StringBuilder source = new StringBuilder(representation).append(total);
+        for (T item : content) {
+            Long itemVersion = version.apply(item);
+            source.append(',').append(id.apply(item)).append(':').append(itemVersion == null ? 0 : itemVersion);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * If-Match 검사. 강한 비교만 허용하므로 W/ 로 시작하는 ETag는 일치하지 않는다.
+     */
+    static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifMatch)) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
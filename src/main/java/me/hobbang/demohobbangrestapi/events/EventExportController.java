@@ -0,0 +1,75 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import me.hobbang.demohobbangrestapi.common.ErrorsResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BindException;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.HashMap;
+import java.util.zip.GZIPOutputStream;
+
+@Controller
+@RequestMapping("/api/events")
+public class EventExportController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(EventBatchController.APPLICATION_NDJSON_VALUE);
+
+    private final EventExporter eventExporter;
+
+    public EventExportController(EventExporter eventExporter) {
+        this.eventExporter = eventExporter;
+    }
+
+    // 오류는 HAL JSON으로 응답하므로 produces를 두지 않고 본문의 Content-Type을 직접 정한다.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @SortDefault("id") Sort sort,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+            throws BindException {
+        // 본문을 쓰기 시작한 뒤에는 400으로 응답할 수 없으므로 정렬 속성을 먼저 검사한다.
+        MapBindingResult errors = new MapBindingResult(new HashMap<>(), "events");
+        for (Sort.Order order : sort) {
+            if (!EventExporter.SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                errors.reject("wrongSort", "sort property is not supported: " + order.getProperty());
+            }
+        }
+        if (errors.hasErrors()) {
+            throw new BindException(errors);
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192)) {
+                    this.eventExporter.export(sort, gzipOutputStream);
+                }
+            } else {
+                this.eventExporter.export(sort, outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity badRequest(BindException e) {
+        return ResponseEntity.badRequest().body(new ErrorsResource(e.getBindingResult()));
+    }
+}
@@ -0,0 +1,69 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 모든 이벤트를 한 줄에 하나씩 JSON으로 쓴다.
+ * 전진 전용 커서로 fetch size 만큼씩 읽고, 쓴 이벤트는 바로 영속성 컨텍스트에서 떼어내서 테이블 크기와 상관없이 메모리를 일정하게 쓴다.
+ */
+@Component
+public class EventExporter {
+
+    // streamAllBy로 정렬할 수 있는 Event의 값 속성. 연관관계(manager)는 뺀다.
+    static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "description", "beginEnrollmentDateTime",
+            "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime", "location", "basePrice", "maxPrice",
+            "limitOfEnrollment", "offline", "free", "eventStatus", "version", "lastModifiedDateTime");
+
+    private final EventRepository eventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter eventWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EventExporter(EventRepository eventRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.eventWriter = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Sort sort, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        try (Stream<Event> events = this.eventRepository.streamAllBy(sort)) {
+            events.forEach(event -> {
+                try {
+                    this.eventWriter.writeValue(generator, event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                this.entityManager.detach(event);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+}
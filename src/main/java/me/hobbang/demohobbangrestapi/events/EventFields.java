@@ -0,0 +1,108 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 목록 조회의 fields 파라미터. 요청한 컬럼만 select 하는 JPQL을 만들고 결과 행을 응답용 Map으로 바꾼다.
+ * 엔티티를 만들지 않으므로 manager 같은 연관관계나 요청하지 않은 컬럼(description 등)은 읽지 않는다.
+ * id와 version은 self 링크와 ETag에 필요해서 요청하지 않아도 항상 읽지만 응답에는 요청한 것만 넣는다.
+ */
+final class EventFields {
+
+    // 엔티티의 기본 컬럼만 고를 수 있다. 정렬도 이 안에서만 허용한다.
+    static final Set<String> SELECTABLE_PROPERTIES = Set.of("id", "name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime",
+            "location", "basePrice", "maxPrice", "limitOfEnrollment", "offline", "free", "eventStatus",
+            "version", "lastModifiedDateTime");
+
+    private static final int ID = 0;
+    private static final int VERSION = 1;
+    private static final int FIRST_PROPERTY = 2;
+
+    private final List<String> properties;
+
+    private EventFields(List<String> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 쉼표로 구분한 속성 이름을 읽는다. 순서는 유지하고 중복은 버린다.
+     */
+    static EventFields parse(String fields) {
+        Set<String> properties = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String property = field.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            if (!SELECTABLE_PROPERTIES.contains(property)) {
+                throw new IllegalArgumentException("fields property is not supported: " + property);
+            }
+            properties.add(property);
+        }
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException("fields must not be empty");
+        }
+        return new EventFields(List.copyOf(properties));
+    }
+
+    List<String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * ETag에 섞어서 같은 페이지라도 고른 컬럼이 다르면 다른 표현으로 취급한다.
+     */
+    String key() {
+        return String.join(",", this.properties);
+    }
+
+    String select(Sort sort) {
+        StringBuilder jpql = new StringBuilder("select e.id, e.version");
+        for (String property : this.properties) {
+            jpql.append(", e.").append(property);
+        }
+        jpql.append(" from Event e");
+        // findAll(pageable)과 같은 순서로 읽어야 조건부 요청의 ETag가 맞는다.
+        if (sort.isSorted()) {
+            jpql.append(" order by ");
+            for (Sort.Order order : sort) {
+                // 정렬 키는 JPQL에 그대로 들어가므로 허용한 속성만 받는다. (호출하는 쪽에서 검사)
+                jpql.append("e.").append(order.getProperty()).append(order.isAscending() ? " asc, " : " desc, ");
+            }
+            jpql.setLength(jpql.length() - 2);
+        }
+        return jpql.toString();
+    }
+
+    Integer id(Object[] row) {
+        return (Integer) row[ID];
+    }
+
+    Long version(Object[] row) {
+        return (Long) row[VERSION];
+    }
+
+    Map<String, Object> toMap(Object[] row) {
+        Map<String, Object> fields = new LinkedHashMap<>(this.properties.size() * 2);
+        for (int i = 0; i < this.properties.size(); i++) {
+            fields.put(this.properties.get(i), row[FIRST_PROPERTY + i]);
+        }
+        return fields;
+    }
+
+    List<EventFieldsResource> toResources(List<Object[]> rows) {
+        List<EventFieldsResource> resources = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            resources.add(new EventFieldsResource(id(row), toMap(row)));
+        }
+        return resources;
+    }
+}
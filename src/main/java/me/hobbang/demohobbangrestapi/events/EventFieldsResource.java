@@ -0,0 +1,36 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import me.hobbang.demohobbangrestapi.common.LinkFactory;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.core.Relation;
+
+import java.util.Map;
+
+// fields 파라미터로 고른 컬럼만 담는 리소스. 목록에서는 EventResource와 같은 eventList로 내려간다.
+@Relation(collectionRelation = "eventList")
+public class EventFieldsResource extends ResourceSupport {
+
+    private final Map<String, Object> fields;
+
+    public EventFieldsResource(Integer id, Map<String, Object> fields) {
+        this.fields = fields;
+        add(LinkFactory.linkTo(EventController.class, id, Link.REL_SELF));
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj) && this.fields.equals(((EventFieldsResource) obj).fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + this.fields.hashCode();
+    }
+}
@@ -0,0 +1,109 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import me.hobbang.demohobbangrestapi.accounts.Account;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JPA를 거치지 않고 이벤트 목록을 읽는다.
+ * 영속성 컨텍스트, 스냅샷, 프록시 없이 행마다 Event를 만들어서 바로 넘기므로 페이지를 메모리에 모으지 않는다.
+ * 컬럼 이름은 스프링 부트 기본 네이밍(SpringPhysicalNamingStrategy)을 따른다.
+ */
+@Component
+public class EventJdbcReader {
+
+    // 정렬할 수 있는 속성과 컬럼
+    static final Map<String, String> SORTABLE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        SORTABLE_COLUMNS.put("id", "id");
+        SORTABLE_COLUMNS.put("name", "name");
+        SORTABLE_COLUMNS.put("beginEnrollmentDateTime", "begin_enrollment_date_time");
+        SORTABLE_COLUMNS.put("closeEnrollmentDateTime", "close_enrollment_date_time");
+        SORTABLE_COLUMNS.put("beginEventDateTime", "begin_event_date_time");
+        SORTABLE_COLUMNS.put("endEventDateTime", "end_event_date_time");
+        SORTABLE_COLUMNS.put("location", "location");
+        SORTABLE_COLUMNS.put("basePrice", "base_price");
+        SORTABLE_COLUMNS.put("maxPrice", "max_price");
+        SORTABLE_COLUMNS.put("limitOfEnrollment", "limit_of_enrollment");
+        SORTABLE_COLUMNS.put("eventStatus", "event_status");
+        SORTABLE_COLUMNS.put("lastModifiedDateTime", "last_modified_date_time");
+    }
+
+    private static final String SELECT = "select id, name, description, begin_enrollment_date_time,"
+            + " close_enrollment_date_time, begin_event_date_time, end_event_date_time, location, base_price,"
+            + " max_price, limit_of_enrollment, offline, free, event_status, manager_id, version,"
+            + " last_modified_date_time from event";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventJdbcReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long count() {
+        return this.jdbcTemplate.queryForObject("select count(*) from event", Long.class);
+    }
+
+    /**
+     * 페이지의 이벤트를 읽는 대로 action에 넘긴다. 정렬 속성은 SORTABLE_COLUMNS에 있어야 한다.
+     */
+    public void forEachInPage(Pageable pageable, Consumer<Event> action) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        String separator = " order by ";
+        for (Sort.Order order : pageable.getSort()) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("sort property is not supported: " + order.getProperty());
+            }
+            sql.append(separator).append(column).append(order.isAscending() ? " asc" : " desc");
+            separator = ", ";
+        }
+        sql.append(" limit ? offset ?");
+
+        this.jdbcTemplate.query(sql.toString(), resultSet -> {
+            action.accept(event(resultSet));
+        }, pageable.getPageSize(), pageable.getOffset());
+    }
+
+    private static Event event(ResultSet resultSet) throws SQLException {
+        Event event = new Event();
+        event.setId(resultSet.getInt("id"));
+        event.setName(resultSet.getString("name"));
+        event.setDescription(resultSet.getString("description"));
+        event.setBeginEnrollmentDateTime(localDateTime(resultSet, "begin_enrollment_date_time"));
+        event.setCloseEnrollmentDateTime(localDateTime(resultSet, "close_enrollment_date_time"));
+        event.setBeginEventDateTime(localDateTime(resultSet, "begin_event_date_time"));
+        event.setEndEventDateTime(localDateTime(resultSet, "end_event_date_time"));
+        event.setLocation(resultSet.getString("location"));
+        event.setBasePrice(resultSet.getInt("base_price"));
+        event.setMaxPrice(resultSet.getInt("max_price"));
+        event.setLimitOfEnrollment(resultSet.getInt("limit_of_enrollment"));
+        event.setOffline(resultSet.getBoolean("offline"));
+        event.setFree(resultSet.getBoolean("free"));
+        String eventStatus = resultSet.getString("event_status");
+        event.setEventStatus(eventStatus == null ? null : EventStatus.valueOf(eventStatus));
+        // 응답에는 id만 나가므로 계정은 읽지 않는다. (AccountSerializer)
+        int managerId = resultSet.getInt("manager_id");
+        event.setManager(resultSet.wasNull() ? null : Account.builder().id(managerId).build());
+        long version = resultSet.getLong("version");
+        event.setVersion(resultSet.wasNull() ? null : version);
+        event.setLastModifiedDateTime(localDateTime(resultSet, "last_modified_date_time"));
+        return event;
+    }
+
+    private static LocalDateTime localDateTime(ResultSet resultSet, String column) throws SQLException {
+        Timestamp timestamp = resultSet.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
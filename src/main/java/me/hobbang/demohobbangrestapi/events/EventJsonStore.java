@@ -0,0 +1,274 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import com.fasterxml.jackson.core.util.BufferRecyclers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import me.hobbang.demohobbangrestapi.common.LinkFactory;
+import me.hobbang.demohobbangrestapi.common.RenderedJson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이벤트마다 EventResource의 HAL JSON을 UTF-8 바이트로 만들어 두고 응답할 때 이어 쓴다.
+ * self 링크의 href는 요청(호스트, X-Forwarded-*)마다 다르므로 href 앞까지만 저장하고 href와 나머지 링크는 응답할 때 쓴다.
+ * 생성, 수정이 커밋되면 put으로 다시 만들고, 응답할 때는 version이 같은 것만 쓴다.
+ * 없거나 version이 다르면 그 자리에서 만들어서 저장한다. 저장하는 바이트 수는 max-size로 제한한다.
+ * 지표: cache.* (cache=event-json), event.json.store.bytes
+ */
+@Component
+public class EventJsonStore {
+
+    // EventController의 목록과 같은 _embedded 이름 (RelProvider 기본값)
+    private static final byte[] EMBEDDED_START = "{\"_embedded\":{\"eventList\":[".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] EMBEDDED_END = "]},".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] LINKS_START = "{\"_links\":{".getBytes(StandardCharsets.UTF_8);
+
+    // self 링크 href 뒤: href 문자열, self 링크, _links, 이벤트를 닫는다.
+    private static final byte[] SELF_END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] RESOURCE_END = "}}".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SELF_LINK_END = concat(SELF_END, RESOURCE_END);
+
+    // 캐시 항목마다 바이트 배열 말고 드는 크기 (대략)
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ObjectMapper objectMapper;
+
+    // 링크는 핸들러마다 정해진 몇 개뿐이다.
+    private final Map<List<Link>, byte[]> linksEnds = new ConcurrentHashMap<>();
+
+    // 꺼져 있으면 null. 매번 만든다.
+    private final Cache<Integer, Fragment> fragments;
+
+    public EventJsonStore(RequestMappingHandlerAdapter handlerAdapter, MeterRegistry meterRegistry,
+                          @Value("${app.events.json-store.enabled:true}") boolean enabled,
+                          @Value("${app.events.json-store.max-size:64MB}") DataSize maxSize) {
+        this.objectMapper = halObjectMapper(handlerAdapter);
+        if (!enabled) {
+            this.fragments = null;
+            return;
+        }
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<Integer, Fragment>weigher((id, fragment) -> fragment.head.length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.fragments, "event-json");
+        Gauge.builder("event.json.store.bytes", this.fragments,
+                cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Approximate bytes held by pre-rendered event JSON")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // EventController의 응답을 쓰는 HAL 컨버터와 같은 ObjectMapper (Jackson2HalModule이 등록되어 있다)
+    private static ObjectMapper halObjectMapper(RequestMappingHandlerAdapter handlerAdapter) {
+        return handlerAdapter.getMessageConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .filter(converter -> converter.getSupportedMediaTypes().contains(MediaTypes.HAL_JSON))
+                .findFirst()
+                .map(MappingJackson2HttpMessageConverter::getObjectMapper)
+                .orElseThrow(() -> new IllegalStateException("HAL message converter is not registered"));
+    }
+
+    ObjectMapper getObjectMapper() {
+        return this.objectMapper;
+    }
+
+    /**
+     * 생성, 수정이 커밋된 이벤트를 다시 만들어 둔다.
+     */
+    public void put(Event event) {
+        if (this.fragments != null && event.getVersion() != null) {
+            this.fragments.put(event.getId(), render(event));
+        }
+    }
+
+    /**
+     * 이벤트 하나. links는 self 링크 뒤에 붙는다. (EventResource에 add한 것과 같다)
+     */
+    RenderedJson event(Event event, Link... links) {
+        byte[] selfHrefPrefix = selfHrefPrefix();
+        byte[] linksEnd = this.linksEnds.computeIfAbsent(List.of(links), this::linksEnd);
+        return outputStream -> write(outputStream, event, selfHrefPrefix, linksEnd);
+    }
+
+    /**
+     * 이벤트 목록. envelope는 목록이 비어 있는 PagedResources나 Resources로 링크와 page만 가지고 있다.
+     */
+    RenderedJson page(List<Event> events, ResourceSupport envelope) {
+        PageWriter pageWriter = pageWriter(envelope);
+        return outputStream -> {
+            for (Event event : events) {
+                pageWriter.write(outputStream, event);
+            }
+            pageWriter.finish(outputStream);
+        };
+    }
+
+    /**
+     * 목록을 읽는 대로 쓸 때. 요청 스레드에서 만들어야 링크가 요청을 따른다.
+     */
+    PageWriter pageWriter(ResourceSupport envelope) {
+        try {
+            return new PageWriter(selfHrefPrefix(), this.objectMapper.writeValueAsBytes(envelope));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(OutputStream outputStream, Event event, byte[] selfHrefPrefix, byte[] linksEnd)
+            throws IOException {
+        outputStream.write(fragment(event).head);
+        outputStream.write(selfHrefPrefix);
+        outputStream.write(String.valueOf(event.getId()).getBytes(StandardCharsets.US_ASCII));
+        outputStream.write(linksEnd);
+    }
+
+    private Fragment fragment(Event event) {
+        if (this.fragments == null || event.getVersion() == null) {
+            return render(event);
+        }
+        Fragment fragment = this.fragments.getIfPresent(event.getId());
+        if (fragment == null || !Objects.equals(fragment.version, event.getVersion())) {
+            fragment = render(event);
+            this.fragments.put(event.getId(), fragment);
+        }
+        return fragment;
+    }
+
+    // EventResource를 그대로 쓴 다음 self 링크의 href부터 잘라낸다.
+    private Fragment render(Event event) {
+        EventResource resource = new EventResource(event);
+        byte[] json;
+        try {
+            json = this.objectMapper.writeValueAsBytes(resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] selfHref = quote(resource.getId().getHref());
+        int headLength = json.length - selfHref.length - SELF_LINK_END.length;
+        // EventResource에 self 말고 다른 링크가 생기면 이 방법으로 자를 수 없다.
+        if (headLength < 0
+                || !Arrays.equals(json, headLength, headLength + selfHref.length, selfHref, 0, selfHref.length)
+                || !Arrays.equals(json, json.length - SELF_LINK_END.length, json.length,
+                SELF_LINK_END, 0, SELF_LINK_END.length)) {
+            throw new IllegalStateException("self link must be the last link of an EventResource");
+        }
+        return new Fragment(Arrays.copyOf(json, headLength), event.getVersion());
+    }
+
+    // href(EventController)/ 까지. 이벤트 id는 ASCII 숫자라 이스케이프할 필요가 없다.
+    private static byte[] selfHrefPrefix() {
+        return quote(LinkFactory.href(EventController.class) + "/");
+    }
+
+    // ,"profile":{"href":"..."} 같은 링크는 빈 ResourceSupport를 써서 _links 안쪽만 가져온다.
+    private byte[] linksEnd(List<Link> links) {
+        if (links.isEmpty()) {
+            return SELF_LINK_END;
+        }
+        ResourceSupport resourceSupport = new ResourceSupport();
+        resourceSupport.add(links);
+        byte[] json;
+        try {
+            json = this.objectMapper.writeValueAsBytes(resourceSupport);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // {"_links":{"profile":{...}}} -> ,"profile":{...}}}
+        return concat(SELF_END, new byte[]{','}, Arrays.copyOfRange(json, LINKS_START.length, json.length));
+    }
+
+    private static byte[] quote(String value) {
+        return BufferRecyclers.getJsonStringEncoder().quoteAsUTF8(value);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int position = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * {"_embedded":{"eventList":[이벤트,...]},envelope의 나머지} 순서로 쓴다. 이벤트가 없으면 envelope만 쓴다.
+     */
+    class PageWriter {
+
+        private final byte[] selfHrefPrefix;
+
+        private final byte[] envelope;
+
+        private boolean empty = true;
+
+        private PageWriter(byte[] selfHrefPrefix, byte[] envelope) {
+            this.selfHrefPrefix = selfHrefPrefix;
+            this.envelope = envelope;
+        }
+
+        void write(OutputStream outputStream, Event event) throws IOException {
+            if (this.empty) {
+                outputStream.write(EMBEDDED_START);
+                this.empty = false;
+            } else {
+                outputStream.write(',');
+            }
+            EventJsonStore.this.write(outputStream, event, this.selfHrefPrefix, SELF_LINK_END);
+        }
+
+        void finish(OutputStream outputStream) throws IOException {
+            if (this.empty) {
+                outputStream.write(this.envelope);
+            } else {
+                outputStream.write(EMBEDDED_END);
+                // 앞의 '{'를 빼고 이어 쓴다.
+                outputStream.write(this.envelope, 1, this.envelope.length - 1);
+            }
+        }
+    }
+
+    private static class Fragment {
+
+        // self 링크의 href 값 앞까지
+        private final byte[] head;
+
+        private final Long version;
+
+        private Fragment(byte[] head, Long version) {
+            this.head = head;
+            this.version = version;
+        }
+    }
+}
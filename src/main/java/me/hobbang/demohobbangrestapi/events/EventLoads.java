@@ -0,0 +1,106 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import me.hobbang.demohobbangrestapi.common.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 같은 이벤트나 같은 페이지를 동시에 조회하면 DB에서 한번만 읽어서 나눠 쓴다.
+ * 읽은 엔티티는 여러 요청이 같이 쓰므로 응답을 만드는 데만 쓰고 바꾸지 않는다. (events 캐시와 같다)
+ * 지표: singleflight.calls{name=events.get|events.page}
+ */
+@Component
+public class EventLoads {
+
+    private final EventRepository eventRepository;
+
+    // EventRepository.findById가 쓰는 캐시
+    private final Cache eventCache;
+
+    private final SingleFlight<Integer, Optional<Event>> events;
+
+    private final SingleFlight<PageKey, EventPage> pages;
+
+    public EventLoads(EventRepository eventRepository, CacheManager cacheManager, MeterRegistry meterRegistry,
+                      @Value("${app.events.single-flight.timeout:2s}") Duration timeout) {
+        this.eventRepository = eventRepository;
+        this.eventCache = cacheManager.getCache("events");
+        this.events = new SingleFlight<>("events.get", timeout, meterRegistry);
+        this.pages = new SingleFlight<>("events.page", timeout, meterRegistry);
+    }
+
+    public Optional<Event> findById(Integer id) throws Exception {
+        return this.events.execute(id, () -> this.eventRepository.findById(id));
+    }
+
+    /**
+     * ids 순서대로 읽는다. events 캐시에 없는 것만 한번에 읽어서 캐시에 넣고, 없는 이벤트는 뺀다.
+     */
+    public List<Event> findAllById(int[] ids) {
+        Event[] events = new Event[ids.length];
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            events[i] = this.eventCache == null ? null : this.eventCache.get(ids[i], Event.class);
+            if (events[i] == null) {
+                missing.add(ids[i]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Integer, Event> loaded = this.eventRepository.findAllById(missing).stream()
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            for (int i = 0; i < ids.length; i++) {
+                if (events[i] == null) {
+                    events[i] = loaded.get(ids[i]);
+                    if (events[i] != null && this.eventCache != null) {
+                        this.eventCache.put(ids[i], events[i]);
+                    }
+                }
+            }
+        }
+        return Arrays.stream(events).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * 페이지와 정렬, count 방식이 같으면 같은 페이지로 본다.
+     */
+    EventPage findPage(Pageable pageable, String count, Callable<EventPage> loader) throws Exception {
+        return this.pages.execute(new PageKey(pageable, count), loader);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class EventPage {
+
+        private final Slice<Event> slice;
+
+        private final long totalElements;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class PageKey {
+
+        private final Pageable pageable;
+
+        private final String count;
+    }
+}
@@ -0,0 +1,46 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * EventDto와 Event 사이의 매핑. 리플렉션 없이 필드를 직접 복사한다.
+ * 필드를 추가하면 이 클래스와 EventMapperTest의 ModelMapper 비교 테스트를 함께 확인해야 한다.
+ */
+@Component
+public class EventMapper {
+
+    public Event toEvent(EventDto eventDto) {
+        Event event = new Event();
+        update(eventDto, event);
+        return event;
+    }
+
+    // id, eventStatus, manager 처럼 EventDto에 없는 값은 그대로 둔다.
+    public void update(EventDto eventDto, Event event) {
+        event.setName(eventDto.getName());
+        event.setDescription(eventDto.getDescription());
+        event.setBeginEnrollmentDateTime(eventDto.getBeginEnrollmentDateTime());
+        event.setCloseEnrollmentDateTime(eventDto.getCloseEnrollmentDateTime());
+        event.setBeginEventDateTime(eventDto.getBeginEventDateTime());
+        event.setEndEventDateTime(eventDto.getEndEventDateTime());
+        event.setLocation(eventDto.getLocation());
+        event.setBasePrice(eventDto.getBasePrice());
+        event.setMaxPrice(eventDto.getMaxPrice());
+        event.setLimitOfEnrollment(eventDto.getLimitOfEnrollment());
+    }
+
+    public EventDto toDto(Event event) {
+        return EventDto.builder()
+                .name(event.getName())
+                .description(event.getDescription())
+                .beginEnrollmentDateTime(event.getBeginEnrollmentDateTime())
+                .closeEnrollmentDateTime(event.getCloseEnrollmentDateTime())
+                .beginEventDateTime(event.getBeginEventDateTime())
+                .endEventDateTime(event.getEndEventDateTime())
+                .location(event.getLocation())
+                .basePrice(event.getBasePrice())
+                .maxPrice(event.getMaxPrice())
+                .limitOfEnrollment(event.getLimitOfEnrollment())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이벤트 생성/수정 단계별 시간(events.stage)과 EventValidator가 거절한 횟수(events.validation.rejects).
+ * 요청마다 태그로 미터를 찾지 않도록 단계별 Timer는 미리 등록해둔다.
+ * 저장은 spring.data.repository.invocations, 직렬화는 http.server.serialization에서 따로 잰다.
+ */
+@Component
+public class EventMetrics {
+
+    static final String STAGE_TIMER = "events.stage";
+
+    static final String VALIDATION_REJECTS = "events.validation.rejects";
+
+    private final MeterRegistry registry;
+
+    private final Timer validate;
+
+    private final Timer map;
+
+    private final Timer links;
+
+    // 오류 코드는 EventValidator에 있는 몇 개뿐이다.
+    private final Map<String, Counter> rejects = new ConcurrentHashMap<>();
+
+    public EventMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.validate = stageTimer("validate");
+        this.map = stageTimer("map");
+        this.links = stageTimer("links");
+    }
+
+    Timer validate() {
+        return validate;
+    }
+
+    Timer map() {
+        return map;
+    }
+
+    Timer links() {
+        return links;
+    }
+
+    void rejected(Errors errors) {
+        for (ObjectError error : errors.getAllErrors()) {
+            this.rejects.computeIfAbsent(String.valueOf(error.getCode()), code -> Counter.builder(VALIDATION_REJECTS)
+                    .description("Events rejected by EventValidator")
+                    .tag("code", code)
+                    .register(this.registry))
+                    .increment();
+        }
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of creating or updating an event")
+                .tag("stage", stage)
+                .register(this.registry);
+    }
+}
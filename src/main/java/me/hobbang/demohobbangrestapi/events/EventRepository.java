@@ -1,5 +1,72 @@
 package me.hobbang.demohobbangrestapi.events;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
-}
\ No newline at end of file
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface EventRepository extends JpaRepository<Event, Integer>, EventRepositoryCustom {
+
+    @Override
+    @Cacheable(cacheNames = "events", unless = "#result == null")
+    Optional<Event> findById(Integer id);
+
+    // 수정할 때는 캐시에 들어있는 인스턴스를 바꾸지 않도록 캐시를 거치지 않고 읽는다.
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findForUpdateById(@Param("id") Integer id);
+
+    @Override
+    @CacheEvict(cacheNames = "events", key = "#p0.id", condition = "#p0.id != null")
+    <S extends Event> S save(S event);
+
+    @Override
+    @CacheEvict(cacheNames = "events", allEntries = true)
+    <S extends Event> List<S> saveAll(Iterable<S> events);
+
+    @Override
+    @CacheEvict(cacheNames = "events", key = "#p0")
+    void deleteById(Integer id);
+
+    @Override
+    @CacheEvict(cacheNames = "events", key = "#p0.id")
+    void delete(Event event);
+
+    @Override
+    @CacheEvict(cacheNames = "events", allEntries = true)
+    void deleteAll(Iterable<? extends Event> events);
+
+    @Override
+    @CacheEvict(cacheNames = "events", allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = "events", allEntries = true)
+    void deleteInBatch(Iterable<Event> events);
+
+    @Override
+    @CacheEvict(cacheNames = "events", allEntries = true)
+    void deleteAllInBatch();
+
+    Optional<EventVersion> findVersionById(Integer id);
+
+    Slice<EventVersion> findVersionsBy(Pageable pageable);
+
+    // 전진 전용 커서로 fetch size 만큼씩 읽는다. 호출하는 쪽에서 트랜잭션을 열고 스트림을 닫아야 한다.
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true")
+    })
+    Stream<Event> streamAllBy(Sort sort);
+
+    // count 쿼리 없이 한 건 더 읽어서 다음 페이지 여부만 판단한다.
+    Slice<Event> findAllBy(Pageable pageable);
+}
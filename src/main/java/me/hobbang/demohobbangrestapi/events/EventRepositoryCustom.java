@@ -0,0 +1,21 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface EventRepositoryCustom {
+
+    Slice<Event> findAllByCursor(EventCursor cursor, int size);
+
+    // 정렬 속성은 EventSearchQuery.SORTABLE_PROPERTIES 안에 있어야 한다.
+    Page<Event> search(EventSearch search, Pageable pageable);
+
+    // 고른 컬럼만 Object[](id, version, 고른 컬럼 순서)로 읽는다. count 쿼리 없이 한 건 더 읽어서 다음 페이지 여부만 판단한다.
+    Slice<Object[]> findFields(EventFields fields, Pageable pageable);
+
+    // 새 이벤트만 저장한다. 기존 이벤트가 없으므로 캐시를 비우지 않는다.
+    void insertAll(List<Event> events);
+}
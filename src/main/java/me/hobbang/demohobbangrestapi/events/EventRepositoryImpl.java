@@ -0,0 +1,103 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.Collections;
+import java.util.List;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Event> findAllByCursor(EventCursor cursor, int size) {
+        String property = cursor.getProperty();
+        // backward로 읽을 때는 비교와 정렬 방향을 뒤집어서 읽고 결과를 다시 뒤집는다.
+        boolean ascending = cursor.getDirection().isAscending() != cursor.isBackward();
+        String comparison = ascending ? ">" : "<";
+        String bound = ascending ? ">=" : "<=";
+        String order = ascending ? "asc" : "desc";
+
+        StringBuilder jpql = new StringBuilder("select e from Event e");
+        if (cursor.hasPosition()) {
+            if ("id".equals(property)) {
+                jpql.append(" where e.id ").append(comparison).append(" :id");
+            } else {
+                // (property, id) > (:value, :id). 앞의 범위 조건이 있어야 (property, id) 인덱스를 :value부터 읽는다.
+                jpql.append(" where e.").append(property).append(' ').append(bound).append(" :value")
+                        .append(" and (e.").append(property).append(' ').append(comparison).append(" :value")
+                        .append(" or e.id ").append(comparison).append(" :id)");
+            }
+        }
+        jpql.append(" order by ");
+        if (!"id".equals(property)) {
+            jpql.append("e.").append(property).append(' ').append(order).append(", ");
+        }
+        jpql.append("e.id ").append(order);
+
+        TypedQuery<Event> query = this.entityManager.createQuery(jpql.toString(), Event.class);
+        if (cursor.hasPosition()) {
+            query.setParameter("id", cursor.getId());
+            if (!"id".equals(property)) {
+                query.setParameter("value", cursor.getValue());
+            }
+        }
+
+        // 한 건 더 읽어서 다음 페이지가 있는지 판단한다. count 쿼리는 실행하지 않는다.
+        List<Event> content = query.setMaxResults(size + 1).getResultList();
+        boolean hasMore = content.size() > size;
+        if (hasMore) {
+            content = content.subList(0, size);
+        }
+        if (cursor.isBackward()) {
+            Collections.reverse(content);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size, Sort.by(cursor.getDirection(), property)), hasMore);
+    }
+
+    @Override
+    public Page<Event> search(EventSearch search, Pageable pageable) {
+        EventSearchQuery searchQuery = new EventSearchQuery(search);
+        List<Event> content = searchQuery.bind(this.entityManager.createQuery(searchQuery.select(pageable.getSort()), Event.class))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        // 첫 페이지가 다 차지 않았으면 count 쿼리를 실행하지 않는다.
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> searchQuery.bind(this.entityManager.createQuery(searchQuery.count(), Long.class)).getSingleResult());
+    }
+
+    @Override
+    public Slice<Object[]> findFields(EventFields fields, Pageable pageable) {
+        List<Object[]> content = this.entityManager.createQuery(fields.select(pageable.getSort()), Object[].class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Event> events) {
+        // flush 하면서 hibernate.jdbc.batch_size 단위로 insert가 묶인다.
+        events.forEach(this.entityManager::persist);
+        // open-in-view라 요청 내내 같은 EntityManager를 쓰므로 비우지 않으면 앞 청크의 엔티티가 계속 쌓이고 dirty checking 된다.
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+}
@@ -1,13 +1,12 @@
 package me.hobbang.demohobbangrestapi.events;
+import me.hobbang.demohobbangrestapi.common.LinkFactory;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-
 public class EventResource extends Resource<Event> {
 
     public EventResource(Event event, Link... links) {
         super(event, links);
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        add(LinkFactory.linkTo(EventController.class, event.getId(), Link.REL_SELF));
     }
 }
\ No newline at end of file
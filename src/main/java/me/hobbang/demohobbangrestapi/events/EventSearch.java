@@ -0,0 +1,35 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * GET /api/events/search 조건. 값이 없는 조건은 검색에 사용하지 않는다.
+ */
+@Data
+public class EventSearch {
+
+    private EventStatus eventStatus;
+
+    private Boolean offline;
+
+    private Boolean free;
+
+    // beginEventDateTime이 [beginEventFrom, beginEventTo) 안에 있는 이벤트
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventTo;
+
+    // name, description 전문 검색어
+    @Size(max = 100)
+    private String q;
+
+    public boolean hasText() {
+        return this.q != null && !this.q.isBlank();
+    }
+}
@@ -0,0 +1,102 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.Query;
+import java.util.Set;
+
+/**
+ * EventSearch로 JPQL을 만든다.
+ * 조건은 항상 같은 순서로 붙이고 조건 조합(비트마스크)마다 만든 where 절을 재사용한다.
+ * 같은 조합이면 항상 같은 문자열이라 Hibernate 쿼리 플랜 캐시와 DB의 prepared statement 캐시가 그대로 재사용된다.
+ */
+final class EventSearchQuery {
+
+    static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "beginEnrollmentDateTime",
+            "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime", "basePrice", "maxPrice");
+
+    private static final int EVENT_STATUS = 1;
+    private static final int OFFLINE = 1 << 1;
+    private static final int FREE = 1 << 2;
+    private static final int BEGIN_EVENT_FROM = 1 << 3;
+    private static final int BEGIN_EVENT_TO = 1 << 4;
+    private static final int TEXT = 1 << 5;
+
+    private static final String[] WHERE_CLAUSES = new String[1 << 6];
+
+    static {
+        for (int mask = 0; mask < WHERE_CLAUSES.length; mask++) {
+            StringBuilder where = new StringBuilder(" from Event e where 1 = 1");
+            if ((mask & EVENT_STATUS) != 0) {
+                where.append(" and e.eventStatus = :eventStatus");
+            }
+            if ((mask & OFFLINE) != 0) {
+                where.append(" and e.offline = :offline");
+            }
+            if ((mask & FREE) != 0) {
+                where.append(" and e.free = :free");
+            }
+            if ((mask & BEGIN_EVENT_FROM) != 0) {
+                where.append(" and e.beginEventDateTime >= :beginEventFrom");
+            }
+            if ((mask & BEGIN_EVENT_TO) != 0) {
+                where.append(" and e.beginEventDateTime < :beginEventTo");
+            }
+            if ((mask & TEXT) != 0) {
+                // fts는 dialect에 등록한 함수. PostgreSQL에서는 GIN 인덱스를 타는 tsvector 검색이 된다.
+                where.append(" and fts(e.name, e.description, :q) = true");
+            }
+            WHERE_CLAUSES[mask] = where.toString();
+        }
+    }
+
+    private final EventSearch search;
+
+    private final int mask;
+
+    EventSearchQuery(EventSearch search) {
+        this.search = search;
+        this.mask = (search.getEventStatus() != null ? EVENT_STATUS : 0)
+                | (search.getOffline() != null ? OFFLINE : 0)
+                | (search.getFree() != null ? FREE : 0)
+                | (search.getBeginEventFrom() != null ? BEGIN_EVENT_FROM : 0)
+                | (search.getBeginEventTo() != null ? BEGIN_EVENT_TO : 0)
+                | (search.hasText() ? TEXT : 0);
+    }
+
+    String select(Sort sort) {
+        String where = WHERE_CLAUSES[this.mask];
+        StringBuilder jpql = new StringBuilder(16 + where.length() + 32).append("select e").append(where).append(" order by ");
+        for (Sort.Order order : sort) {
+            // 정렬 키는 JPQL에 그대로 들어가므로 허용한 속성만 받는다. (호출하는 쪽에서 검사)
+            jpql.append("e.").append(order.getProperty()).append(order.isAscending() ? " asc, " : " desc, ");
+        }
+        return jpql.append("e.id asc").toString();
+    }
+
+    String count() {
+        return "select count(e)" + WHERE_CLAUSES[this.mask];
+    }
+
+    <Q extends Query> Q bind(Q query) {
+        if ((this.mask & EVENT_STATUS) != 0) {
+            query.setParameter("eventStatus", this.search.getEventStatus());
+        }
+        if ((this.mask & OFFLINE) != 0) {
+            query.setParameter("offline", this.search.getOffline());
+        }
+        if ((this.mask & FREE) != 0) {
+            query.setParameter("free", this.search.getFree());
+        }
+        if ((this.mask & BEGIN_EVENT_FROM) != 0) {
+            query.setParameter("beginEventFrom", this.search.getBeginEventFrom());
+        }
+        if ((this.mask & BEGIN_EVENT_TO) != 0) {
+            query.setParameter("beginEventTo", this.search.getBeginEventTo());
+        }
+        if ((this.mask & TEXT) != 0) {
+            query.setParameter("q", this.search.getQ().trim());
+        }
+        return query;
+    }
+}
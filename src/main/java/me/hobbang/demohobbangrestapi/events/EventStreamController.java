@@ -0,0 +1,107 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import me.hobbang.demohobbangrestapi.common.Bulkhead;
+import me.hobbang.demohobbangrestapi.common.BulkheadFullException;
+import me.hobbang.demohobbangrestapi.common.CountAwarePageMetadata.TotalElementsType;
+import me.hobbang.demohobbangrestapi.common.ErrorsResource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * app.events.read-stack=streaming이면 조건 없는 목록 조회를 JPA 없이 읽어서 읽는 대로 응답에 쓴다.
+ * 이벤트는 EventController와 같이 EventJsonStore로 쓰고 페이지 링크와 메타데이터도 같은 방법으로 만들므로 응답 본문은 EventController와 같다.
+ * 응답 헤더를 먼저 보내야 하므로 목록 ETag는 없다.
+ * cursor, fields, count 파라미터나 조건부 요청은 이 매핑에 맞지 않으므로 EventController가 처리한다.
+ */
+@Controller
+@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+@ConditionalOnProperty(name = "app.events.read-stack", havingValue = "streaming")
+public class EventStreamController {
+
+    private final EventJdbcReader eventJdbcReader;
+
+    private final EventJsonStore eventJsonStore;
+
+    private final Bulkhead readBulkhead;
+
+    public EventStreamController(EventJdbcReader eventJdbcReader, EventJsonStore eventJsonStore,
+                                 @Qualifier("eventReadBulkhead") Bulkhead readBulkhead) {
+        this.eventJdbcReader = eventJdbcReader;
+        this.eventJsonStore = eventJsonStore;
+        this.readBulkhead = readBulkhead;
+    }
+
+    @GetMapping(params = {"!cursor", "!fields", "!count"}, headers = {"!If-None-Match", "!If-Modified-Since"})
+    public ResponseEntity<StreamingResponseBody> queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler,
+                                                             WebRequest webRequest) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "events");
+        for (Sort.Order order : pageable.getSort()) {
+            if (!EventJdbcReader.SORTABLE_COLUMNS.containsKey(order.getProperty())) {
+                errors.reject("wrongSort", "sort property is not supported: " + order.getProperty());
+            }
+        }
+        if (errors.hasErrors()) {
+            ErrorsResource errorsResource = new ErrorsResource(errors);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaTypes.HAL_JSON_UTF8)
+                    .body(outputStream -> this.eventJsonStore.getObjectMapper().writer()
+                            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                            .writeValue(outputStream, errorsResource));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaTypes.HAL_JSON_UTF8)
+                .body(this.readBulkhead.stream(webRequest, outputStream -> writePage(outputStream, pageable, assembler)));
+    }
+
+    private void writePage(OutputStream outputStream, Pageable pageable, PagedResourcesAssembler<Event> assembler)
+            throws IOException {
+        // 링크와 page 메타데이터는 본문 없는 페이지로 EventController와 같이 만든다. ({"_links":...,"page":...})
+        long totalElements = this.eventJdbcReader.count();
+        PagedResources<EventResource> envelope = EventController.toPagedResources(
+                assembler.toResource(new PageImpl<>(List.of(), pageable, totalElements), e -> new EventResource(e)),
+                TotalElementsType.EXACT);
+        EventJsonStore.PageWriter pageWriter = this.eventJsonStore.pageWriter(envelope);
+
+        try {
+            this.eventJdbcReader.forEachInPage(pageable, event -> {
+                try {
+                    pageWriter.write(outputStream, event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        pageWriter.finish(outputStream);
+    }
+
+    @ExceptionHandler({BulkheadFullException.class, RejectedExecutionException.class})
+    public ResponseEntity serviceUnavailable(RuntimeException e) {
+        return EventController.overloaded(e);
+    }
+}
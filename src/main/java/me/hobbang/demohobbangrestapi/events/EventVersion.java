@@ -0,0 +1,13 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import java.time.LocalDateTime;
+
+// 조건부 요청을 검사할 때 엔티티 전체 대신 읽는 프로젝션.
+public interface EventVersion {
+
+    Integer getId();
+
+    Long getVersion();
+
+    LocalDateTime getLastModifiedDateTime();
+}
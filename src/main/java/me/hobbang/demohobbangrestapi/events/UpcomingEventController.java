@@ -0,0 +1,81 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import me.hobbang.demohobbangrestapi.common.Bulkhead;
+import me.hobbang.demohobbangrestapi.common.BulkheadFullException;
+import me.hobbang.demohobbangrestapi.common.ErrorsResource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 곧 시작하는 이벤트 목록. 조건은 UpcomingEventIndex에서 찾고 이벤트는 events 캐시에서 읽으므로 보통은 DB를 거치지 않는다.
+ */
+@Controller
+@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+public class UpcomingEventController {
+
+    private static final Sort.Order ORDER = Sort.Order.asc("beginEventDateTime");
+
+    private final UpcomingEventIndex upcomingEventIndex;
+
+    private final EventLoads eventLoads;
+
+    private final EventJsonStore eventJsonStore;
+
+    private final Bulkhead readBulkhead;
+
+    public UpcomingEventController(UpcomingEventIndex upcomingEventIndex, EventLoads eventLoads,
+                                   EventJsonStore eventJsonStore,
+                                   @Qualifier("eventReadBulkhead") Bulkhead readBulkhead) {
+        this.upcomingEventIndex = upcomingEventIndex;
+        this.eventLoads = eventLoads;
+        this.eventJsonStore = eventJsonStore;
+        this.readBulkhead = readBulkhead;
+    }
+
+    @GetMapping("/upcoming")
+    public WebAsyncTask<ResponseEntity> upcomingEvents(UpcomingEventSearch search, Pageable pageable,
+                                                       PagedResourcesAssembler<Event> assembler) {
+        return this.readBulkhead.submit(() -> {
+            // 인덱스는 시작 시각 순서로만 들고 있다.
+            for (Sort.Order order : pageable.getSort()) {
+                if (!ORDER.equals(order)) {
+                    Errors errors = new MapBindingResult(new HashMap<>(), "events");
+                    errors.reject("wrongSort", "upcoming events are sorted by beginEventDateTime,ASC only");
+                    return ResponseEntity.badRequest().body(new ErrorsResource(errors));
+                }
+            }
+
+            UpcomingEventIndex.Hits hits = this.upcomingEventIndex.find(search, LocalDateTime.now(),
+                    pageable.getOffset(), pageable.getPageSize());
+            List<Event> events = this.eventLoads.findAllById(hits.getIds());
+
+            var envelope = assembler.toResource(new PageImpl<>(List.of(), pageable, hits.getTotal()),
+                    e -> new EventResource(e));
+            envelope.add(new Link("/docs/index.html#resources-events-upcoming").withRel("profile"));
+            return ResponseEntity.ok(this.eventJsonStore.page(events, envelope));
+        });
+    }
+
+    @ExceptionHandler({BulkheadFullException.class, RejectedExecutionException.class})
+    public ResponseEntity serviceUnavailable(RuntimeException e) {
+        return EventController.overloaded(e);
+    }
+}
@@ -0,0 +1,390 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 지금부터 window 안에 시작하는 이벤트를 beginEventDateTime 순서로 원시 타입 배열에 들고 있다.
+ * 시작 시각은 이진 탐색으로, 상태/무료/오프라인 조건은 비트셋 AND로, 모집 중 조건은 배열 비교로 걸러서 DB 없이 id를 찾는다.
+ * 시작할 때와 refresh-interval마다 DB에서 다시 만들어서 범위를 앞으로 민다. 생성/수정이 커밋되면 put으로 바로 반영한다.
+ * 배열은 바꾸지 않고 새로 만들어서 통째로 바꾸므로 조회는 잠그지 않는다.
+ * 지표: events.upcoming.index.size
+ */
+@Component
+public class UpcomingEventIndex {
+
+    private static final String SELECT = "select id, begin_event_date_time, begin_enrollment_date_time,"
+            + " close_enrollment_date_time, event_status, free, offline from event"
+            + " where begin_event_date_time >= ? and begin_event_date_time < ?"
+            + " order by begin_event_date_time, id";
+
+    // flags: 하위 3비트는 eventStatus.ordinal() + 1 (0이면 없음)
+    private static final int STATUS_MASK = 0b111;
+    private static final int FREE = 1 << 3;
+    private static final int OFFLINE = 1 << 4;
+
+    private static final EventStatus[] STATUSES = EventStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Duration window;
+
+    private volatile Snapshot snapshot;
+
+    // rebuild가 DB를 읽는 동안 들어온 변경. 읽은 결과에 다시 반영한다. (this로 동기화)
+    private List<Row> pending;
+
+    public UpcomingEventIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                              @Value("${app.events.upcoming-index.window:P90D}") Duration window) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.window = window;
+        LocalDateTime now = LocalDateTime.now();
+        this.snapshot = new Snapshot(key(now), key(now.plus(window)), new Rows(0));
+        Gauge.builder("events.upcoming.index.size", this, index -> index.snapshot.rows.size)
+                .description("Events held by the upcoming events index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.events.upcoming-index.refresh-interval:PT1H}",
+            initialDelayString = "${app.events.upcoming-index.refresh-interval:PT1H}")
+    public void rebuild() {
+        synchronized (this) {
+            this.pending = new ArrayList<>();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Rows rows = new Rows(256);
+            this.jdbcTemplate.query(SELECT, resultSet -> {
+                rows.add(row(resultSet));
+            }, Timestamp.valueOf(now), Timestamp.valueOf(now.plus(this.window)));
+            Snapshot rebuilt = new Snapshot(key(now), key(now.plus(this.window)), rows);
+            synchronized (this) {
+                this.snapshot = rebuilt.with(this.pending);
+            }
+        } finally {
+            synchronized (this) {
+                this.pending = null;
+            }
+        }
+    }
+
+    /**
+     * 커밋된 이벤트를 반영한다. 범위 밖으로 나간 이벤트는 뺀다.
+     */
+    public void put(Event event) {
+        putAll(List.of(event));
+    }
+
+    public synchronized void putAll(List<Event> events) {
+        List<Row> rows = new ArrayList<>(events.size());
+        for (Event event : events) {
+            rows.add(row(event));
+        }
+        this.snapshot = this.snapshot.with(rows);
+        if (this.pending != null) {
+            this.pending.addAll(rows);
+        }
+    }
+
+    /**
+     * now 이후에 시작하는 이벤트 중 조건에 맞는 것을 시작 시각, id 순서로 offset부터 limit개.
+     */
+    public Hits find(UpcomingEventSearch search, LocalDateTime now, long offset, int limit) {
+        return this.snapshot.find(search, key(now), offset, limit);
+    }
+
+    /**
+     * 찾은 이벤트의 id와 조건에 맞는 전체 개수
+     */
+    public static final class Hits {
+
+        private final int[] ids;
+
+        private final int total;
+
+        private Hits(int[] ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public int[] getIds() {
+            return this.ids;
+        }
+
+        public int getTotal() {
+            return this.total;
+        }
+    }
+
+    // 정렬에만 쓰므로 시간대 없이 UTC로 계산한다.
+    private static long key(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long key(Timestamp timestamp, long ifNull) {
+        return timestamp == null ? ifNull : key(timestamp.toLocalDateTime());
+    }
+
+    private static long key(LocalDateTime dateTime, long ifNull) {
+        return dateTime == null ? ifNull : key(dateTime);
+    }
+
+    private static Row row(ResultSet resultSet) throws SQLException {
+        String eventStatus = resultSet.getString("event_status");
+        return new Row(resultSet.getInt("id"),
+                key(resultSet.getTimestamp("begin_event_date_time").toLocalDateTime()),
+                // 모집 기간이 없으면 모집 중일 수 없다.
+                key(resultSet.getTimestamp("begin_enrollment_date_time"), Long.MAX_VALUE),
+                key(resultSet.getTimestamp("close_enrollment_date_time"), Long.MIN_VALUE),
+                flags(eventStatus == null ? null : EventStatus.valueOf(eventStatus),
+                        resultSet.getBoolean("free"), resultSet.getBoolean("offline")));
+    }
+
+    private static Row row(Event event) {
+        return new Row(event.getId(),
+                key(event.getBeginEventDateTime(), Long.MIN_VALUE),
+                key(event.getBeginEnrollmentDateTime(), Long.MAX_VALUE),
+                key(event.getCloseEnrollmentDateTime(), Long.MIN_VALUE),
+                flags(event.getEventStatus(), event.isFree(), event.isOffline()));
+    }
+
+    private static byte flags(EventStatus eventStatus, boolean free, boolean offline) {
+        return (byte) ((eventStatus == null ? 0 : eventStatus.ordinal() + 1)
+                | (free ? FREE : 0)
+                | (offline ? OFFLINE : 0));
+    }
+
+    private static final class Row {
+
+        private static final Comparator<Row> ORDER = Comparator.<Row>comparingLong(row -> row.beginEvent)
+                .thenComparingInt(row -> row.id);
+
+        private final int id;
+
+        private final long beginEvent;
+
+        private final long beginEnrollment;
+
+        private final long closeEnrollment;
+
+        private final byte flags;
+
+        private Row(int id, long beginEvent, long beginEnrollment, long closeEnrollment, byte flags) {
+            this.id = id;
+            this.beginEvent = beginEvent;
+            this.beginEnrollment = beginEnrollment;
+            this.closeEnrollment = closeEnrollment;
+            this.flags = flags;
+        }
+    }
+
+    /**
+     * 행마다 같은 위치를 쓰는 배열들. beginEvent, id 순서로 넣는다.
+     */
+    private static final class Rows {
+
+        private int size;
+
+        private long[] beginEvent;
+
+        private int[] ids;
+
+        private long[] beginEnrollment;
+
+        private long[] closeEnrollment;
+
+        private byte[] flags;
+
+        private Rows(int capacity) {
+            this.beginEvent = new long[capacity];
+            this.ids = new int[capacity];
+            this.beginEnrollment = new long[capacity];
+            this.closeEnrollment = new long[capacity];
+            this.flags = new byte[capacity];
+        }
+
+        private void add(Row row) {
+            add(row.id, row.beginEvent, row.beginEnrollment, row.closeEnrollment, row.flags);
+        }
+
+        private void add(Rows rows, int index) {
+            add(rows.ids[index], rows.beginEvent[index], rows.beginEnrollment[index], rows.closeEnrollment[index],
+                    rows.flags[index]);
+        }
+
+        private void add(int id, long beginEvent, long beginEnrollment, long closeEnrollment, byte flags) {
+            if (this.size == this.ids.length) {
+                int capacity = Math.max(16, this.size * 2);
+                this.beginEvent = Arrays.copyOf(this.beginEvent, capacity);
+                this.ids = Arrays.copyOf(this.ids, capacity);
+                this.beginEnrollment = Arrays.copyOf(this.beginEnrollment, capacity);
+                this.closeEnrollment = Arrays.copyOf(this.closeEnrollment, capacity);
+                this.flags = Arrays.copyOf(this.flags, capacity);
+            }
+            this.beginEvent[this.size] = beginEvent;
+            this.ids[this.size] = id;
+            this.beginEnrollment[this.size] = beginEnrollment;
+            this.closeEnrollment[this.size] = closeEnrollment;
+            this.flags[this.size] = flags;
+            this.size++;
+        }
+
+        private int compare(int index, Row row) {
+            int compare = Long.compare(this.beginEvent[index], row.beginEvent);
+            return compare != 0 ? compare : Integer.compare(this.ids[index], row.id);
+        }
+    }
+
+    /**
+     * [from, to) 범위에서 시작하는 이벤트. 만든 뒤에는 바꾸지 않는다.
+     */
+    private static final class Snapshot {
+
+        private final long from;
+
+        private final long to;
+
+        private final Rows rows;
+
+        // 조건별 비트셋. 비트 i는 rows의 i번째 이벤트
+        private final long[] freeBits;
+
+        private final long[] offlineBits;
+
+        private final long[][] statusBits;
+
+        private Snapshot(long from, long to, Rows rows) {
+            this.from = from;
+            this.to = to;
+            this.rows = rows;
+            int words = (rows.size + 63) >>> 6;
+            this.freeBits = new long[words];
+            this.offlineBits = new long[words];
+            this.statusBits = new long[STATUSES.length][words];
+            for (int i = 0; i < rows.size; i++) {
+                byte flags = rows.flags[i];
+                long bit = 1L << i;
+                if ((flags & FREE) != 0) {
+                    this.freeBits[i >>> 6] |= bit;
+                }
+                if ((flags & OFFLINE) != 0) {
+                    this.offlineBits[i >>> 6] |= bit;
+                }
+                int status = flags & STATUS_MASK;
+                if (status != 0) {
+                    this.statusBits[status - 1][i >>> 6] |= bit;
+                }
+            }
+        }
+
+        /**
+         * 바뀐 이벤트의 이전 행을 빼고 범위 안에 있는 새 행을 순서에 맞게 끼워 넣은 새 스냅샷.
+         */
+        private Snapshot with(List<Row> changes) {
+            if (changes.isEmpty()) {
+                return this;
+            }
+            int[] changedIds = new int[changes.size()];
+            List<Row> inserts = new ArrayList<>(changes.size());
+            for (int i = 0; i < changes.size(); i++) {
+                Row row = changes.get(i);
+                changedIds[i] = row.id;
+                if (row.beginEvent >= this.from && row.beginEvent < this.to) {
+                    inserts.add(row);
+                }
+            }
+            Arrays.sort(changedIds);
+            inserts.sort(Row.ORDER);
+
+            Rows merged = new Rows(this.rows.size + inserts.size());
+            int next = 0;
+            for (int i = 0; i < this.rows.size; i++) {
+                if (Arrays.binarySearch(changedIds, this.rows.ids[i]) >= 0) {
+                    continue;
+                }
+                while (next < inserts.size() && this.rows.compare(i, inserts.get(next)) > 0) {
+                    merged.add(inserts.get(next++));
+                }
+                merged.add(this.rows, i);
+            }
+            while (next < inserts.size()) {
+                merged.add(inserts.get(next++));
+            }
+            return new Snapshot(this.from, this.to, merged);
+        }
+
+        private Hits find(UpcomingEventSearch search, long now, long offset, int limit) {
+            int start = lowerBound(now);
+            int end = this.rows.size;
+            int[] ids = new int[Math.max(0, Math.min(limit, end - start))];
+            int found = 0;
+            int total = 0;
+            if (start < end) {
+                for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+                    long bits = -1L;
+                    if (word == start >>> 6) {
+                        bits &= -1L << (start & 63);
+                    }
+                    if (word == (end - 1) >>> 6) {
+                        bits &= -1L >>> (63 - ((end - 1) & 63));
+                    }
+                    if (search.getFree() != null) {
+                        bits &= search.getFree() ? this.freeBits[word] : ~this.freeBits[word];
+                    }
+                    if (search.getOffline() != null) {
+                        bits &= search.getOffline() ? this.offlineBits[word] : ~this.offlineBits[word];
+                    }
+                    if (search.getEventStatus() != null) {
+                        bits &= this.statusBits[search.getEventStatus().ordinal()][word];
+                    }
+                    while (bits != 0) {
+                        int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        if (search.isEnrolling()
+                                && !(this.rows.beginEnrollment[index] <= now && now < this.rows.closeEnrollment[index])) {
+                            continue;
+                        }
+                        if (total >= offset && found < ids.length) {
+                            ids[found++] = this.rows.ids[index];
+                        }
+                        total++;
+                    }
+                }
+            }
+            return new Hits(found == ids.length ? ids : Arrays.copyOf(ids, found), total);
+        }
+
+        // beginEvent가 key 이상인 첫 위치
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = this.rows.size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.rows.beginEvent[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import lombok.Data;
+
+/**
+ * GET /api/events/upcoming 조건. 값이 없는 조건은 사용하지 않는다.
+ */
+@Data
+public class UpcomingEventSearch {
+
+    private EventStatus eventStatus;
+
+    private Boolean offline;
+
+    private Boolean free;
+
+    // true면 지금 모집 중(beginEnrollmentDateTime <= 지금 < closeEnrollmentDateTime)인 이벤트만
+    private boolean enrolling;
+}
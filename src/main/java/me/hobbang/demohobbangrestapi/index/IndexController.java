@@ -1,12 +1,11 @@
 package me.hobbang.demohobbangrestapi.index;
 
+import me.hobbang.demohobbangrestapi.common.LinkFactory;
 import me.hobbang.demohobbangrestapi.events.EventController;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-
 @RestController
 public class IndexController {
 
@@ -14,7 +13,7 @@ public class IndexController {
     @GetMapping("/api")
     public ResourceSupport index(){
         var index = new ResourceSupport();
-        index.add(linkTo(EventController.class).withRel("events"));
+        index.add(LinkFactory.linkTo(EventController.class, "events"));
         return index;
     }
 }
@@ -0,0 +1,203 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.support.SqlLobValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * oauth_access_token, oauth_refresh_token 테이블(schema.sql)을 사용하는 토큰 저장소.
+ * 요청마다 조회되는 access token과 인증 정보는 한번의 쿼리로 읽어서 로컬 캐시에 둔다.
+ * 만료 시각은 토큰과 같은 insert로 expiration 컬럼에 저장하고 만료된 토큰은 백그라운드에서 나눠서 지운다.
+ */
+public class CachingJdbcTokenStore extends JdbcTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingJdbcTokenStore.class);
+
+    private static final String SELECT_ACCESS_TOKEN_WITH_AUTHENTICATION_SQL =
+            "select token, authentication from oauth_access_token where token_id = ?";
+
+    private static final String SELECT_ACCESS_TOKEN_IDS_FROM_REFRESH_TOKEN_SQL =
+            "select token_id from oauth_access_token where refresh_token = ?";
+
+    // JdbcTokenStore의 insert에 expiration을 더했다. 따로 update 하면 그 사이에 실패했을 때 지워지지 않는 토큰이 남는다.
+    private static final String INSERT_ACCESS_TOKEN_SQL = "insert into oauth_access_token (token_id, token,"
+            + " authentication_id, user_name, client_id, authentication, refresh_token, expiration)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REFRESH_TOKEN_SQL =
+            "insert into oauth_refresh_token (token_id, token, authentication, expiration) values (?, ?, ?, ?)";
+
+    // PostgreSQL의 delete에는 limit이 없어서 서브쿼리로 한번에 지울 개수를 제한한다.
+    private static final String DELETE_EXPIRED_ACCESS_TOKENS_SQL =
+            "delete from oauth_access_token where authentication_id in " +
+                    "(select authentication_id from oauth_access_token where expiration < ? limit ?)";
+
+    private static final String DELETE_EXPIRED_REFRESH_TOKENS_SQL =
+            "delete from oauth_refresh_token where token_id in " +
+                    "(select token_id from oauth_refresh_token where expiration < ? limit ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache cache;
+
+    private final int purgeBatchSize;
+
+    private AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    public CachingJdbcTokenStore(DataSource dataSource, Cache cache, int purgeBatchSize) {
+        super(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cache = cache;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    public void setAuthenticationKeyGenerator(AuthenticationKeyGenerator authenticationKeyGenerator) {
+        super.setAuthenticationKeyGenerator(authenticationKeyGenerator);
+        this.authenticationKeyGenerator = authenticationKeyGenerator;
+    }
+
+    // JdbcTokenStore.storeAccessToken과 같고 insert에 expiration만 더했다.
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        String refreshToken = token.getRefreshToken() == null ? null : token.getRefreshToken().getValue();
+        if (readAccessToken(token.getValue()) != null) {
+            removeAccessToken(token.getValue());
+        }
+        String tokenKey = extractTokenKey(token.getValue());
+        this.jdbcTemplate.update(INSERT_ACCESS_TOKEN_SQL,
+                new Object[]{tokenKey, new SqlLobValue(serializeAccessToken(token)),
+                        this.authenticationKeyGenerator.extractKey(authentication),
+                        authentication.isClientOnly() ? null : authentication.getName(),
+                        authentication.getOAuth2Request().getClientId(),
+                        new SqlLobValue(serializeAuthentication(authentication)), extractTokenKey(refreshToken),
+                        timestamp(token.getExpiration())},
+                new int[]{Types.VARCHAR, Types.BLOB, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BLOB,
+                        Types.VARCHAR, Types.TIMESTAMP});
+        this.cache.evict(tokenKey);
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        CachedAccessToken cached = load(tokenValue);
+        return cached == null ? null : cached.accessToken;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        CachedAccessToken cached = load(token);
+        return cached == null ? null : cached.authentication;
+    }
+
+    @Override
+    public void removeAccessToken(String tokenValue) {
+        super.removeAccessToken(tokenValue);
+        this.cache.evict(extractTokenKey(tokenValue));
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        Date expiration = refreshToken instanceof ExpiringOAuth2RefreshToken
+                ? ((ExpiringOAuth2RefreshToken) refreshToken).getExpiration()
+                : null;
+        this.jdbcTemplate.update(INSERT_REFRESH_TOKEN_SQL,
+                new Object[]{extractTokenKey(refreshToken.getValue()), new SqlLobValue(serializeRefreshToken(refreshToken)),
+                        new SqlLobValue(serializeAuthentication(authentication)), timestamp(expiration)},
+                new int[]{Types.VARCHAR, Types.BLOB, Types.BLOB, Types.TIMESTAMP});
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(String refreshToken) {
+        List<String> tokenKeys = this.jdbcTemplate.queryForList(SELECT_ACCESS_TOKEN_IDS_FROM_REFRESH_TOKEN_SQL,
+                String.class, extractTokenKey(refreshToken));
+        super.removeAccessTokenUsingRefreshToken(refreshToken);
+        tokenKeys.forEach(this.cache::evict);
+    }
+
+    /**
+     * 만료된 토큰을 purgeBatchSize 개씩 나눠서 지운다. 한번에 지우면 큰 테이블에서 잠금이 길어진다.
+     * 캐시에 남아있는 만료된 access token은 DefaultTokenServices가 만료를 확인하고 removeAccessToken 한다.
+     */
+    @Scheduled(fixedDelayString = "${app.token-store.purge-interval:PT10M}",
+            initialDelayString = "${app.token-store.purge-interval:PT10M}")
+    public void purgeExpiredTokens() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int accessTokens = purge(DELETE_EXPIRED_ACCESS_TOKENS_SQL, now);
+        int refreshTokens = purge(DELETE_EXPIRED_REFRESH_TOKENS_SQL, now);
+        if (accessTokens > 0 || refreshTokens > 0) {
+            log.info("Purged {} expired access tokens and {} expired refresh tokens", accessTokens, refreshTokens);
+        }
+    }
+
+    private int purge(String sql, Timestamp now) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = this.jdbcTemplate.update(sql, now, this.purgeBatchSize);
+            total += deleted;
+        } while (deleted == this.purgeBatchSize);
+        return total;
+    }
+
+    private CachedAccessToken load(String tokenValue) {
+        String tokenKey = extractTokenKey(tokenValue);
+        CachedAccessToken cached = this.cache.get(tokenKey, CachedAccessToken.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<CachedAccessToken> rows;
+        try {
+            rows = this.jdbcTemplate.query(SELECT_ACCESS_TOKEN_WITH_AUTHENTICATION_SQL,
+                    (rs, rowNum) -> new CachedAccessToken(
+                            deserializeAccessToken(rs.getBytes(1)),
+                            deserializeAuthentication(rs.getBytes(2))),
+                    tokenKey);
+        } catch (IllegalArgumentException e) {
+            // JdbcTokenStore와 같이 역직렬화 할 수 없는 토큰은 지운다.
+            log.warn("Failed to deserialize access token", e);
+            removeAccessToken(tokenValue);
+            return null;
+        }
+
+        // 없는 토큰은 캐시하지 않는다.
+        if (rows.isEmpty()) {
+            return null;
+        }
+        cached = rows.get(0);
+        this.cache.put(tokenKey, cached);
+        return cached;
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
+    private static class CachedAccessToken {
+
+        private final OAuth2AccessToken accessToken;
+
+        private final OAuth2Authentication authentication;
+
+        private CachedAccessToken(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
+            this.accessToken = accessToken;
+            this.authentication = authentication;
+        }
+    }
+}
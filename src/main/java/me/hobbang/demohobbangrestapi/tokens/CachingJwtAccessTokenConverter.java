@@ -0,0 +1,34 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import org.springframework.cache.Cache;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 서명과 claim 검증을 통과한 토큰의 claim을 캐시해서, 같은 토큰이 다시 오면 서명 검증과 JSON 파싱을 건너뛴다.
+ * 만료(exp)는 캐시와 상관없이 DefaultTokenServices가 요청마다 확인한다.
+ */
+public class CachingJwtAccessTokenConverter extends JwtAccessTokenConverter {
+
+    private final Cache cache;
+
+    public CachingJwtAccessTokenConverter(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> decode(String token) {
+        Map<String, Object> claims = this.cache.get(token, Map.class);
+        if (claims != null) {
+            return claims;
+        }
+
+        // 검증에 실패하면 예외가 나므로 캐시에는 검증된 claim만 들어간다.
+        claims = Collections.unmodifiableMap(super.decode(token));
+        this.cache.put(token, claims);
+        return claims;
+    }
+}
@@ -0,0 +1,59 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키마다 토큰 버킷으로 요청 수를 제한한다. (GCRA)
+ * 버킷 하나는 다음 토큰이 생기는 이론상의 시각(TAT) 하나뿐이라 AtomicLong CAS로 락 없이 갱신한다.
+ * 키는 개수 제한이 있는 Caffeine 캐시에 두고, 버킷이 가득 찰 시간 동안 안 쓰이면 지운다. (지워도 결과가 같다)
+ */
+public class GcraRateLimiter {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param capacity     한번에 허용하는 요청 수
+     * @param refillPeriod 토큰 하나가 다시 차는 시간
+     * @param maxKeys      기억하는 키의 최대 개수
+     */
+    public GcraRateLimiter(int capacity, Duration refillPeriod, long maxKeys) {
+        this.intervalNanos = refillPeriod.toNanos();
+        this.burstNanos = this.intervalNanos * capacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(this.burstNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * 토큰 하나를 쓴다.
+     *
+     * @return 허용되면 0, 아니면 다음 토큰이 생길 때까지 기다려야 하는 나노초
+     */
+    public long tryAcquire(String key) {
+        AtomicLong tat = this.buckets.get(key, k -> new AtomicLong(EMPTY));
+        long now = System.nanoTime();
+        while (true) {
+            long current = tat.get();
+            long next = (current == EMPTY ? now : Math.max(current, now)) + this.intervalNanos;
+            long waitNanos = next - now - this.burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 폐기된 JWT의 jti 목록. 토큰이 만료되면 어차피 거부되므로 항목도 토큰의 만료 시각에 같이 사라진다.
+ * 노드마다 따로 들고 있는 목록이라 다른 노드에서 폐기한 토큰은 만료될 때까지 유효하다.
+ */
+public class JwtRevocationList {
+
+    private final Cache<String, Instant> revoked = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Instant>() {
+                @Override
+                public long expireAfterCreate(String jti, Instant expiresAt, long currentTime) {
+                    return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiresAt.toEpochMilli() - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String jti, Instant expiresAt, long currentTime, long currentDuration) {
+                    return expireAfterCreate(jti, expiresAt, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String jti, Instant expiresAt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti != null && expiresAt != null) {
+            this.revoked.put(jti, expiresAt);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && this.revoked.getIfPresent(jti) != null;
+    }
+}
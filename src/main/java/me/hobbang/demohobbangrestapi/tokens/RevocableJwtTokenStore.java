@@ -0,0 +1,77 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 저장소 없이 서명과 만료만으로 검증하는 JWT 토큰 저장소.
+ * 지우는 요청(refresh token 교체, 만료된 토큰 정리)은 JwtRevocationList에 jti를 올려서 이후 조회를 거부한다.
+ */
+public class RevocableJwtTokenStore extends JwtTokenStore {
+
+    private final CachingJwtAccessTokenConverter converter;
+
+    private final JwtRevocationList revocationList;
+
+    public RevocableJwtTokenStore(CachingJwtAccessTokenConverter converter, JwtRevocationList revocationList) {
+        super(converter);
+        this.converter = converter;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        return isRevoked(tokenValue) ? null : super.readAccessToken(tokenValue);
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        return isRevoked(token) ? null : super.readAuthentication(token);
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        return isRevoked(tokenValue) ? null : super.readRefreshToken(tokenValue);
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        Map<String, Object> claims = this.converter.decode(token.getValue());
+        this.revocationList.revoke((String) claims.get(AccessTokenConverter.JTI), expiresAt(claims));
+        super.removeAccessToken(token);
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        Map<String, Object> claims = this.converter.decode(token.getValue());
+        this.revocationList.revoke((String) claims.get(AccessTokenConverter.JTI), expiresAt(claims));
+        super.removeRefreshToken(token);
+    }
+
+    /**
+     * refresh token에는 함께 발급된 access token의 jti(ati)가 들어있다.
+     * access token의 만료 시각은 알 수 없지만 refresh token보다 먼저 만료되므로 refresh token의 만료 시각까지 폐기해둔다.
+     */
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        Map<String, Object> claims = this.converter.decode(refreshToken.getValue());
+        this.revocationList.revoke((String) claims.get(JwtAccessTokenConverter.ACCESS_TOKEN_ID), expiresAt(claims));
+        super.removeAccessTokenUsingRefreshToken(refreshToken);
+    }
+
+    private boolean isRevoked(String tokenValue) {
+        return this.revocationList.isRevoked((String) this.converter.decode(tokenValue).get(AccessTokenConverter.JTI));
+    }
+
+    private static Instant expiresAt(Map<String, Object> claims) {
+        Object exp = claims.get(AccessTokenConverter.EXP);
+        return exp instanceof Number ? Instant.ofEpochSecond(((Number) exp).longValue()) : null;
+    }
+}
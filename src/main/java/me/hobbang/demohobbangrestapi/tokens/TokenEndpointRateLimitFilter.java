@@ -0,0 +1,98 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /oauth/token 앞에서 IP, username, client id 별로 요청 수를 제한하고 동시에 처리하는 요청 수를 제한한다.
+ * 클라이언트 secret과 비밀번호 검증(bcrypt)보다 먼저 실행되어야 하므로 스프링 시큐리티 필터 앞에 등록한다.
+ * 제한에 걸리면 기다리지 않고 바로 429와 Retry-After로 응답한다.
+ */
+public class TokenEndpointRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final GcraRateLimiter ipLimiter;
+
+    private final GcraRateLimiter usernameLimiter;
+
+    private final GcraRateLimiter clientLimiter;
+
+    private final Semaphore concurrency;
+
+    public TokenEndpointRateLimitFilter(GcraRateLimiter ipLimiter, GcraRateLimiter usernameLimiter,
+                                        GcraRateLimiter clientLimiter, int maxConcurrent) {
+        this.ipLimiter = ipLimiter;
+        this.usernameLimiter = usernameLimiter;
+        this.clientLimiter = clientLimiter;
+        this.concurrency = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = this.ipLimiter.tryAcquire(request.getRemoteAddr());
+
+        String username = request.getParameter("username");
+        if (waitNanos == 0 && username != null) {
+            waitNanos = this.usernameLimiter.tryAcquire(username.toLowerCase());
+        }
+
+        String clientId = clientId(request);
+        if (waitNanos == 0 && clientId != null) {
+            waitNanos = this.clientLimiter.tryAcquire(clientId);
+        }
+
+        if (waitNanos > 0) {
+            tooManyRequests(response, waitNanos, "Rate limit exceeded");
+            return;
+        }
+
+        if (!this.concurrency.tryAcquire()) {
+            tooManyRequests(response, TimeUnit.SECONDS.toNanos(1), "Too many concurrent token requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            this.concurrency.release();
+        }
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            try {
+                String credentials = new String(Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+                        StandardCharsets.UTF_8);
+                int delimiter = credentials.indexOf(':');
+                return delimiter < 0 ? credentials : credentials.substring(0, delimiter);
+            } catch (IllegalArgumentException e) {
+                // 잘못된 헤더는 스프링 시큐리티가 거절한다.
+                return null;
+            }
+        }
+        return request.getParameter("client_id");
+    }
+
+    private static void tooManyRequests(HttpServletResponse response, long waitNanos, String description) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        // /oauth/token의 다른 오류와 같은 형식
+        response.getWriter().write("{\"error\":\"too_many_requests\",\"error_description\":\"" + description + "\"}");
+    }
+}
@@ -0,0 +1,40 @@
+-- 운영(prod) 스키마 1번. Event, Account 엔티티와 같아야 한다. (spring.jpa.hibernate.ddl-auto=validate)
+-- 시작할 때마다 실행되므로 모두 IF NOT EXISTS로 만든다. 스키마를 바꿀 때는 이 파일을 고치지 말고 다음 번호의 파일을 더한다.
+
+-- Event는 allocationSize 50인 pooled 옵티마이저를 쓴다.
+CREATE SEQUENCE IF NOT EXISTS event_seq START 1 INCREMENT 50;
+-- Account (@GeneratedValue 기본값)
+CREATE SEQUENCE IF NOT EXISTS hibernate_sequence START 1 INCREMENT 1;
+
+CREATE TABLE IF NOT EXISTS account (
+    id       INT4 NOT NULL,
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS account_roles (
+    account_id INT4 NOT NULL CONSTRAINT account_roles_account_fk REFERENCES account,
+    roles      VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS event (
+    id                         INT4 NOT NULL,
+    name                       VARCHAR(255),
+    description                VARCHAR(255),
+    begin_enrollment_date_time TIMESTAMP,
+    close_enrollment_date_time TIMESTAMP,
+    begin_event_date_time      TIMESTAMP,
+    end_event_date_time        TIMESTAMP,
+    location                   VARCHAR(255),
+    base_price                 INT4 NOT NULL,
+    max_price                  INT4 NOT NULL,
+    limit_of_enrollment        INT4 NOT NULL,
+    offline                    BOOLEAN NOT NULL,
+    free                       BOOLEAN NOT NULL,
+    event_status               VARCHAR(255),
+    manager_id                 INT4 CONSTRAINT event_manager_fk REFERENCES account,
+    version                    INT8,
+    last_modified_date_time    TIMESTAMP,
+    PRIMARY KEY (id)
+);
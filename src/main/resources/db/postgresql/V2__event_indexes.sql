@@ -0,0 +1,11 @@
+-- 운영(prod) 스키마 2번. event 조회용 인덱스.
+-- dev 프로필에서는 hbm2ddl.import_files로도 읽으므로 문장 하나를 한 줄에 쓴다.
+
+-- 커서 페이지네이션: (정렬 컬럼, id) 순서로 seek 한다.
+CREATE INDEX IF NOT EXISTS event_name_id_idx ON event (name, id);
+CREATE INDEX IF NOT EXISTS event_begin_enrollment_id_idx ON event (begin_enrollment_date_time, id);
+CREATE INDEX IF NOT EXISTS event_begin_event_id_idx ON event (begin_event_date_time, id);
+-- 다가오는 이벤트: 상태로 거르고 시작 시각 순서로 읽는다.
+CREATE INDEX IF NOT EXISTS event_status_begin_event_idx ON event (event_status, begin_event_date_time);
+-- GET /api/events/search 전문 검색용 GIN 인덱스. 식은 PostgreSQLFtsDialect의 fts 함수와 같아야 한다.
+CREATE INDEX IF NOT EXISTS event_fts_idx ON event USING gin (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, '')));
@@ -0,0 +1,27 @@
+-- spring-security-oauth2 JdbcTokenStore 테이블. expiration은 만료 토큰 정리용으로 추가한 컬럼이다.
+CREATE TABLE IF NOT EXISTS oauth_access_token (
+    token_id          VARCHAR(256),
+    token             BYTEA,
+    authentication_id VARCHAR(256) PRIMARY KEY,
+    user_name         VARCHAR(256),
+    client_id         VARCHAR(256),
+    authentication    BYTEA,
+    refresh_token     VARCHAR(256),
+    expiration        TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS oauth_access_token_token_id_idx ON oauth_access_token (token_id);
+CREATE INDEX IF NOT EXISTS oauth_access_token_client_id_user_name_idx ON oauth_access_token (client_id, user_name);
+CREATE INDEX IF NOT EXISTS oauth_access_token_user_name_idx ON oauth_access_token (user_name);
+CREATE INDEX IF NOT EXISTS oauth_access_token_refresh_token_idx ON oauth_access_token (refresh_token);
+CREATE INDEX IF NOT EXISTS oauth_access_token_expiration_idx ON oauth_access_token (expiration);
+
+CREATE TABLE IF NOT EXISTS oauth_refresh_token (
+    token_id       VARCHAR(256),
+    token          BYTEA,
+    authentication BYTEA,
+    expiration     TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS oauth_refresh_token_token_id_idx ON oauth_refresh_token (token_id);
+CREATE INDEX IF NOT EXISTS oauth_refresh_token_expiration_idx ON oauth_refresh_token (expiration);
@@ -0,0 +1,47 @@
+package me.hobbang.demohobbangrestapi.accounts;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+인증할 때마다 실행되는 AccountService.authorities 비용.
+Hibernate가 채워주는 것처럼 매번 새 Set으로 호출한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountServiceBenchmark {
+
+    private AccountService accountService;
+
+    private Set<AccountRole> roles;
+
+    @Setup
+    public void setUp() {
+        this.accountService = new AccountService();
+        this.roles = new HashSet<>(Set.of(AccountRole.ADMIN, AccountRole.USER));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authorities() {
+        return this.accountService.authorities(new HashSet<>(this.roles));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccountServiceBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
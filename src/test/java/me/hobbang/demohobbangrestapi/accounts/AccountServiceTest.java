@@ -7,8 +7,14 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -34,6 +40,15 @@ public class AccountServiceTest {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AuthenticationManager authenticationManager;
+
     @Test
     public void findByUserName() {
         // Given
@@ -67,4 +82,67 @@ public class AccountServiceTest {
         // When
         accountService.loadUserByUsername(username);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loadUserByUsernameCached() {
+        // Given
+        String username = "cached@email.com";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("before")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+
+        // When
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+
+        // Then
+        Cache accounts = this.cacheManager.getCache("accounts");
+        assertThat(accounts.get(username)).isNotNull();
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+
+        // 인증 후 비밀번호를 지워도 다음 조회에는 영향이 없어야 한다.
+        ((CredentialsContainer) userDetails).eraseCredentials();
+        assertThat(this.accountService.loadUserByUsername(username).getPassword()).isNotNull();
+    }
+
+    @Test
+    public void saveAccountEvictsCache() {
+        // Given
+        String username = "evicted@email.com";
+        Account account = this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("before")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        // When
+        account.setPassword("after");
+        this.accountService.saveAccount(account);
+
+        // Then
+        assertThat(this.cacheManager.getCache("accounts").get(username)).isNull();
+        assertThat(this.passwordEncoder.matches("after", this.accountService.loadUserByUsername(username).getPassword()))
+                .isTrue();
+    }
+
+    @Test
+    public void rehashOnLogin() {
+        // Given
+        String username = "rehash@email.com";
+        this.accountRepository.save(Account.builder()
+                .email(username)
+                .password("{bcrypt}" + new BCryptPasswordEncoder(6).encode("pass"))
+                .roles(Set.of(AccountRole.USER))
+                .build());
+
+        // When
+        this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, "pass"));
+
+        // Then
+        String rehashed = this.accountRepository.findByEmail(username).orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("{bcrypt}$2a$04$");
+        assertThat(this.passwordEncoder.matches("pass", rehashed)).isTrue();
+    }
+}
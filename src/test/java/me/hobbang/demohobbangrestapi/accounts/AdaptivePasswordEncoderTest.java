@@ -0,0 +1,90 @@
+package me.hobbang.demohobbangrestapi.accounts;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptivePasswordEncoderTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    private AdaptivePasswordEncoder passwordEncoder;
+
+    @Before
+    public void setUp() {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(1);
+        this.executor.setMaxPoolSize(1);
+        this.executor.setQueueCapacity(1);
+        this.executor.initialize();
+        this.passwordEncoder = new AdaptivePasswordEncoder(5, this.executor);
+    }
+
+    @After
+    public void tearDown() {
+        this.passwordEncoder.destroy();
+    }
+
+    @Test
+    public void encodeWithStrength() {
+        String encoded = this.passwordEncoder.encode("pass");
+
+        assertThat(encoded).startsWith("{bcrypt}$2a$05$");
+        assertThat(this.passwordEncoder.matches("pass", encoded)).isTrue();
+        assertThat(this.passwordEncoder.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    public void upgradeEncodingWhenCostDiffers() {
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("pass");
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("pass");
+
+        assertThat(this.passwordEncoder.matches("pass", weaker)).isTrue();
+        assertThat(this.passwordEncoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(this.passwordEncoder.matches("pass", stronger)).isTrue();
+        assertThat(this.passwordEncoder.upgradeEncoding(stronger)).isTrue();
+        assertThat(this.passwordEncoder.upgradeEncoding("{noop}pass")).isTrue();
+        assertThat(this.passwordEncoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    public void rejectWhenSaturated() throws Exception {
+        // 스레드 하나와 대기열 하나를 모두 채운다.
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        this.executor.execute(blocking);
+        started.await();
+        this.executor.execute(blocking);
+
+        try {
+            assertThatThrownBy(() -> this.passwordEncoder.encode("pass"))
+                    .isInstanceOf(AuthenticationServiceException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void calibrate() {
+        assertThat(AdaptivePasswordEncoder.calibrate(Duration.ZERO)).isEqualTo(AdaptivePasswordEncoder.MIN_STRENGTH);
+        assertThat(AdaptivePasswordEncoder.calibrate(Duration.ofMillis(50)))
+                .isBetween(AdaptivePasswordEncoder.MIN_STRENGTH, AdaptivePasswordEncoder.MAX_STRENGTH);
+    }
+}
@@ -0,0 +1,75 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @TestDescription("한도만큼만 받고 끝난 요청 수만큼 다시 받는다")
+    public void tryAcquire() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        // When
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+
+        first.release();
+        first.dropped();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    @TestDescription("응답 시간이 그대로면 한도를 늘리고 대기열이 생기면 줄인다")
+    public void adjustLimitByLatency() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100);
+        limiter.onSample(RTT, 10, false);
+
+        // When & Then
+        limiter.onSample(RTT, 10, false);
+        assertThat(limiter.getLimit()).isEqualTo(13);
+
+        // 한도의 절반도 안 쓸 때는 판단하지 않는다.
+        limiter.onSample(RTT * 10, 2, false);
+        assertThat(limiter.getLimit()).isEqualTo(13);
+
+        // 한번에 log10(한도)만큼 줄인다.
+        limiter.onSample(RTT * 10, 13, false);
+        assertThat(limiter.getLimit()).isEqualTo(11);
+
+        limiter.onSample(RTT, 11, true);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @TestDescription("한도는 최소값과 최대값을 넘지 않는다")
+    public void boundedLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 4);
+        limiter.onSample(RTT, 2, false);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(RTT, limiter.getLimit(), false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(RTT, limiter.getLimit(), true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+}
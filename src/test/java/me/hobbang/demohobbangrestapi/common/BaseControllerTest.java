@@ -1,7 +1,11 @@
 package me.hobbang.demohobbangrestapi.common;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import me.hobbang.demohobbangrestapi.events.Event;
 import me.hobbang.demohobbangrestapi.events.EventRepository;
+import me.hobbang.demohobbangrestapi.events.EventStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Ignore;
 import org.junit.runner.RunWith;
 import org.modelmapper.ModelMapper;
@@ -13,6 +17,15 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -31,5 +44,57 @@ public class BaseControllerTest {
     protected ObjectMapper objectMapper;
 
     @Autowired
-    protected ModelMapper modelMapper;
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    protected EventRepository eventRepository;
+
+    // 테스트에서 Event를 EventDto로 바꿀 때만 사용한다.
+    protected ModelMapper modelMapper = new ModelMapper();
+
+    /**
+     * 요청을 실행한다. 핸들러가 비동기(WebAsyncTask)로 처리하면 끝날 때까지 기다렸다가 다시 디스패치한 결과를 돌려준다.
+     */
+    protected ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions resultActions = this.mockMvc.perform(request);
+        MvcResult mvcResult = resultActions.andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return this.mockMvc.perform(asyncDispatch(mvcResult));
+        }
+        return resultActions;
+    }
+
+    /**
+     * 요청을 실행하고 그동안 Hibernate가 준비한 SQL 문이 maxStatements 개 이하인지 검사한다.
+     * 목록 크기만큼 쿼리가 늘어나는 N+1 회귀를 잡는다. (JdbcTemplate으로 실행한 SQL은 세지 않는다)
+     */
+    protected ResultActions performWithMaxStatements(long maxStatements, RequestBuilder request) throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ResultActions resultActions = perform(request);
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements executed for the request")
+                .isLessThanOrEqualTo(maxStatements);
+        return resultActions;
+    }
+
+    protected Event generateEvent(int index) {
+        Event event = Event.builder()
+                .name("event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT)
+                .build();
+
+        return this.eventRepository.save(event);
+    }
 }
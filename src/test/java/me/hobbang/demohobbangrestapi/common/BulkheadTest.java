@@ -0,0 +1,176 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkheadTest {
+
+    private final ThreadPoolTaskExecutor bulkheadExecutor = new ThreadPoolTaskExecutor();
+
+    // applicationTaskExecutor 대신. 스레드 하나를 막아 두고 본문이 대기열에 머물게 한다.
+    private final ExecutorService streamExecutor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        this.bulkheadExecutor.shutdown();
+        this.streamExecutor.shutdownNow();
+    }
+
+    @Test
+    @TestDescription("본문이 시작하기 전에 시간 초과로 끝난 스트림도 한도를 돌려준다")
+    public void releaseStreamPermitOnTimeout() throws Exception {
+        // Given
+        this.bulkheadExecutor.initialize();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+        Bulkhead bulkhead = new Bulkhead("test", this.bulkheadExecutor, limiter, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        CountDownLatch busy = new CountDownLatch(1);
+        this.streamExecutor.submit(() -> {
+            busy.await();
+            return null;
+        });
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(webRequest);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        asyncManager.setTaskExecutor(new ConcurrentTaskExecutor(this.streamExecutor));
+
+        // When
+        StreamingResponseBody body = bulkhead.stream(webRequest, outputStream -> outputStream.write('x'));
+        // StreamingResponseBodyReturnValueHandler처럼 본문을 비동기로 실행한다.
+        asyncManager.startCallableProcessing(() -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        });
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onComplete(new AsyncEvent(asyncContext));
+        }
+
+        // Then
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+        busy.countDown();
+    }
+
+    @Test
+    @TestDescription("실행 중에 시간 초과로 끝난 요청은 task가 끝날 때 한도를 돌려준다")
+    public void keepPermitUntilTaskEnds() throws Exception {
+        // Given
+        this.bulkheadExecutor.initialize();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+        Bulkhead bulkhead = new Bulkhead("test", this.bulkheadExecutor, limiter, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        WebAsyncManager asyncManager = asyncManager(request);
+
+        // When
+        asyncManager.startCallableProcessing(bulkhead.submit(() -> {
+            running.countDown();
+            // 시간 초과하면 스프링 MVC가 인터럽트하지만 JDBC 호출처럼 끝날 때까지 돈다.
+            while (busy.getCount() > 0) {
+                try {
+                    busy.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+            finished.countDown();
+            return "done";
+        }));
+        running.await();
+        timeout(request);
+
+        // Then
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        busy.countDown();
+        finished.await();
+        Thread.sleep(100);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @TestDescription("스레드 풀이 거절한 요청도 한도를 돌려준다")
+    public void releasePermitWhenExecutorRejects() throws Exception {
+        // Given
+        this.bulkheadExecutor.setCorePoolSize(1);
+        this.bulkheadExecutor.setMaxPoolSize(1);
+        this.bulkheadExecutor.setQueueCapacity(0);
+        this.bulkheadExecutor.initialize();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+        Bulkhead bulkhead = new Bulkhead("test", this.bulkheadExecutor, limiter, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        CountDownLatch busy = new CountDownLatch(1);
+        this.bulkheadExecutor.submit(() -> {
+            busy.await();
+            return null;
+        });
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        WebAsyncManager asyncManager = asyncManager(request);
+
+        // When
+        assertThatThrownBy(() -> asyncManager.startCallableProcessing(bulkhead.submit(() -> "done")))
+                .isInstanceOf(RejectedExecutionException.class);
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onComplete(new AsyncEvent(asyncContext));
+        }
+
+        // Then
+        assertThat(asyncManager.getConcurrentResult()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+        busy.countDown();
+    }
+
+    private WebAsyncManager asyncManager(MockHttpServletRequest request) {
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(new ServletWebRequest(request, response));
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        return asyncManager;
+    }
+
+    private void timeout(MockHttpServletRequest request) throws Exception {
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onComplete(new AsyncEvent(asyncContext));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * 테스트(H2)용 fts 함수. H2에는 tsvector가 없으므로 대소문자 무시 부분 일치로 대신한다.
+ */
+public class H2FtsDialect extends H2Dialect {
+
+    public H2FtsDialect() {
+        super();
+        registerFunction("fts", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                "(lower(coalesce(?1, '') || ' ' || coalesce(?2, '')) like lower('%' || ?3 || '%'))"));
+    }
+}
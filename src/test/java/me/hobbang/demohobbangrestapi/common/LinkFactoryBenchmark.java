@@ -0,0 +1,81 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import me.hobbang.demohobbangrestapi.events.Event;
+import me.hobbang.demohobbangrestapi.events.EventController;
+import me.hobbang.demohobbangrestapi.events.EventResource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+/*
+이벤트 목록 한 페이지의 self 링크 생성 비용 비교. (ControllerLinkBuilder vs LinkFactory)
+매 호출마다 새 요청을 만들어서 요청당 한번 계산하는 비용까지 포함한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkFactoryBenchmark {
+
+    @Param({"20", "2000"})
+    private int pageSize;
+
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        this.events = new ArrayList<>();
+        IntStream.range(0, this.pageSize).forEach(i -> this.events.add(Event.builder().id(i).name("event " + i).build()));
+    }
+
+    @Setup(Level.Invocation)
+    public void newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("X-Forwarded-Proto", "https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<Resource<Event>> controllerLinkBuilder() {
+        List<Resource<Event>> resources = new ArrayList<>(this.events.size());
+        for (Event event : this.events) {
+            resources.add(new Resource<>(event, linkTo(EventController.class).slash(event.getId()).withSelfRel()));
+        }
+        return resources;
+    }
+
+    @Benchmark
+    public List<EventResource> linkFactory() {
+        List<EventResource> resources = new ArrayList<>(this.events.size());
+        for (Event event : this.events) {
+            resources.add(new EventResource(event));
+        }
+        return resources;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LinkFactoryBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
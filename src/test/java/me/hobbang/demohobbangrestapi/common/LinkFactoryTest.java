@@ -0,0 +1,57 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import me.hobbang.demohobbangrestapi.events.EventController;
+import me.hobbang.demohobbangrestapi.index.IndexController;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
+
+public class LinkFactoryTest {
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @TestDescription("요청이 있을 때 ControllerLinkBuilder와 같은 링크를 만든다")
+    public void sameAsControllerLinkBuilder() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("X-Forwarded-Proto", "https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(LinkFactory.href(EventController.class))
+                .isEqualTo(linkTo(EventController.class).toString());
+        assertThat(LinkFactory.href(EventController.class, 10))
+                .isEqualTo(linkTo(EventController.class).slash(10).toString());
+        assertThat(LinkFactory.href(IndexController.class, ReflectionUtils.findMethod(IndexController.class, "index")))
+                .isEqualTo(linkTo(methodOn(IndexController.class).index()).toString());
+    }
+
+    @Test
+    @TestDescription("base URI는 요청마다 따로 계산한다")
+    public void resolvedPerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        assertThat(LinkFactory.href(EventController.class)).isEqualTo("http://localhost/api/events");
+
+        MockHttpServletRequest secure = new MockHttpServletRequest("GET", "/api/events");
+        secure.setServerName("api.example.com");
+        secure.addHeader("X-Forwarded-Ssl", "on");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(secure));
+        assertThat(LinkFactory.href(EventController.class)).isEqualTo("https://api.example.com/api/events");
+    }
+
+    @Test
+    @TestDescription("요청이 없으면 상대 경로 링크를 만든다")
+    public void relativeWithoutRequest() {
+        assertThat(LinkFactory.href(EventController.class, 1)).isEqualTo("/api/events/1");
+    }
+}
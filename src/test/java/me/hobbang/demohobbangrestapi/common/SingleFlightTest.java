@@ -0,0 +1,111 @@
+package me.hobbang.demohobbangrestapi.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    @TestDescription("같은 키를 동시에 읽으면 한번만 읽고 결과를 같이 받는다")
+    public void shareInFlightLoad() throws Exception {
+        // Given
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(10), this.registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = this.executor.submit(() -> singleFlight.execute(1, () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            release.await();
+            return "event 1";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(this.executor.submit(() -> singleFlight.execute(1, () -> {
+                loads.incrementAndGet();
+                return "reloaded";
+            })));
+        }
+        // 기다리는 쪽이 모두 execute에 들어갈 시간을 준다.
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("event 1");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("event 1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(calls("leader")).isEqualTo(1);
+        assertThat(calls("shared")).isEqualTo(5);
+    }
+
+    @Test
+    @TestDescription("leader가 timeout 안에 끝나지 않으면 따로 읽는다")
+    public void loadAloneAfterTimeout() throws Exception {
+        // Given
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>("test", Duration.ofMillis(50), this.registry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = this.executor.submit(() -> singleFlight.execute(1, () -> {
+            leaderStarted.countDown();
+            release.await();
+            return "stuck";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        String value = singleFlight.execute(1, () -> "loaded alone");
+
+        // Then
+        assertThat(value).isEqualTo("loaded alone");
+        assertThat(calls("timeout")).isEqualTo(1);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("stuck");
+    }
+
+    @Test
+    @TestDescription("loader가 실패하면 예외를 던지고 다음 호출은 다시 읽는다")
+    public void failedLoadIsNotKept() throws Exception {
+        // Given
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(10), this.registry);
+
+        // When & Then
+        assertThatThrownBy(() -> singleFlight.execute(1, () -> {
+            throw new IllegalStateException("db is down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.execute(1, () -> "event 1")).isEqualTo("event 1");
+        assertThat(this.registry.get("singleflight.in.flight").gauge().value()).isEqualTo(0);
+    }
+
+    private double calls(String result) {
+        return this.registry.get("singleflight.calls").tag("result", result).counter().count();
+    }
+}
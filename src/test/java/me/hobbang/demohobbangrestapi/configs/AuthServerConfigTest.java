@@ -1,5 +1,7 @@
 package me.hobbang.demohobbangrestapi.configs;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import me.hobbang.demohobbangrestapi.accounts.Account;
 import me.hobbang.demohobbangrestapi.accounts.AccountRole;
 import me.hobbang.demohobbangrestapi.accounts.AccountService;
@@ -10,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -22,6 +25,9 @@ public class AuthServerConfigTest extends BaseControllerTest {
     @Autowired
     AccountService accountService;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     @TestDescription("인증 토큰을 발급 받는 테스트")
     public void getAuthToken() throws Exception {
@@ -48,4 +54,33 @@ public class AuthServerConfigTest extends BaseControllerTest {
                 .andExpect(jsonPath("access_token").exists());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @TestDescription("비밀번호가 틀리면 인증 실패 횟수를 센다")
+    public void authFailureCounted() throws Exception {
+        // Given
+        String username = "failure@email.com";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        double failures = failures();
+
+        // When
+        this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", "wrong")
+                .param("grant_type", "password"))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        assertThat(failures()).isEqualTo(failures + 1);
+    }
+
+    private double failures() {
+        return this.meterRegistry.find("auth.failures").tag("reason", "BadCredentialsException").counters().stream()
+                .mapToDouble(Counter::count).sum();
+    }
+}
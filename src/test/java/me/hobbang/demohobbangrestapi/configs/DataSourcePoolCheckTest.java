@@ -0,0 +1,55 @@
+package me.hobbang.demohobbangrestapi.configs;
+
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataSourcePoolCheckTest {
+
+    @Test
+    @TestDescription("CPU 수로 풀 크기를 정하고 DB 연결 수를 노드 수로 나눈 값을 넘지 않는다")
+    public void size() {
+        // Given
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+        properties.setCores(8);
+
+        // When & Then
+        assertThat(properties.size()).isEqualTo(17);
+
+        properties.setDbMaxConnections(43);
+        properties.setInstances(4);
+        assertThat(properties.size()).isEqualTo(10);
+    }
+
+    @Test
+    @TestDescription("풀 크기로 정한 요청 스레드 수는 경고하지 않는다")
+    public void maxThreads() {
+        // Given
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+        properties.setCores(4);
+
+        // When & Then
+        assertThat(properties.maxThreads()).isEqualTo(36);
+        assertThat(DataSourcePoolCheck.warnings(properties.size(), properties.maxThreads(), properties)).isEmpty();
+    }
+
+    @Test
+    @TestDescription("풀 크기와 톰캣 스레드 수가 맞지 않으면 경고한다")
+    public void warnings() {
+        // Given
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+        properties.setDbMaxConnections(23);
+        properties.setInstances(2);
+
+        // When & Then
+        assertThat(DataSourcePoolCheck.warnings(10, 40, properties)).isEmpty();
+        assertThat(DataSourcePoolCheck.warnings(10, 200, properties)).hasSize(1);
+
+        List<String> warnings = DataSourcePoolCheck.warnings(20, 10, properties);
+        assertThat(warnings).hasSize(2);
+        assertThat(warnings.get(1)).contains("db-max-connections 23");
+    }
+}
@@ -0,0 +1,88 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*
+이벤트 생성/수정 요청마다 실행되는 EventValidator.validate, Event.update 비용.
+잘못된 입력은 Errors에 오류를 쌓는 비용까지 포함한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBenchmark {
+
+    private EventValidator eventValidator;
+
+    private EventDto validEventDto;
+
+    private EventDto wrongEventDto;
+
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        this.eventValidator = new EventValidator();
+        this.validEventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location("강남역 D2 스타텁 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+        this.wrongEventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .basePrice(10000)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+        this.event = new EventMapper().toEvent(this.validEventDto);
+    }
+
+    @Benchmark
+    public Errors validateValid() {
+        Errors errors = new BeanPropertyBindingResult(this.validEventDto, "eventDto");
+        this.eventValidator.validate(this.validEventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validateWrong() {
+        Errors errors = new BeanPropertyBindingResult(this.wrongEventDto, "eventDto");
+        this.eventValidator.validate(this.wrongEventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Event update() {
+        this.event.update();
+        return this.event;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
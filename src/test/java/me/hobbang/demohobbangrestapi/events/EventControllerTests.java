@@ -1,27 +1,44 @@
 package me.hobbang.demohobbangrestapi.events;
 
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import me.hobbang.demohobbangrestapi.accounts.Account;
 import me.hobbang.demohobbangrestapi.accounts.AccountRepository;
 import me.hobbang.demohobbangrestapi.accounts.AccountRole;
 import me.hobbang.demohobbangrestapi.accounts.AccountService;
+import me.hobbang.demohobbangrestapi.common.AdaptiveConcurrencyLimiter;
 import me.hobbang.demohobbangrestapi.common.BaseControllerTest;
+import me.hobbang.demohobbangrestapi.common.Bulkhead;
 import me.hobbang.demohobbangrestapi.common.TestDescription;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
@@ -35,15 +52,25 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 public class EventControllerTests extends BaseControllerTest {
 
-    @Autowired
-    EventRepository eventRepository;
-
     @Autowired
     AccountService accountService;
 
     @Autowired
     AccountRepository accountRepository;
 
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("eventReadBulkhead")
+    Bulkhead readBulkhead;
+
+    @Autowired
+    UpcomingEventIndex upcomingEventIndex;
+
     @Before
     public void setUp() {
         this.eventRepository.deleteAll();
@@ -66,7 +93,7 @@ public class EventControllerTests extends BaseControllerTest {
                 .location("중랑구 소방서")
                 .build();
 
-        mockMvc.perform(post("/api/events/")
+        perform(post("/api/events/")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .accept(MediaTypes.HAL_JSON_UTF8)
@@ -110,7 +137,7 @@ public class EventControllerTests extends BaseControllerTest {
                                 headerWithName(HttpHeaders.LOCATION).description("Location header"),
                                 headerWithName(HttpHeaders.CONTENT_TYPE).description("Content type")
                         ),
-                        relaxedRequestFields(fieldWithPath("id").description("identifier of new event"),
+                        relaxedResponseFields(fieldWithPath("id").description("identifier of new event"),
                                 fieldWithPath("name").description("Name of new event"),
                                 fieldWithPath("description").description("description of new event"),
                                 fieldWithPath("beginEnrollmentDateTime").description("date time of begin of new event"),
@@ -134,8 +161,86 @@ public class EventControllerTests extends BaseControllerTest {
 
     }
 
+    @Test
+    @TestDescription("JSON 배열로 여러 이벤트를 한번에 생성하고 잘못된 항목은 에러로 받기")
+    public void createEvents() throws Exception {
+        EventDto wrongEvent = newEventDto("Wrong");
+        wrongEvent.setBasePrice(50000);
+        wrongEvent.setMaxPrice(200);
+        List<EventDto> eventDtos = List.of(newEventDto("Spring"), newEventDto("JPA"), wrongEvent, newEventDto("REST"));
+
+        perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .accept(MediaTypes.HAL_JSON_UTF8)
+                .content(objectMapper.writeValueAsString(eventDtos)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created").value(3))
+                .andExpect(jsonPath("rejected").value(1))
+                .andExpect(jsonPath("errors[0].index").value(2))
+                .andExpect(jsonPath("errors[0].errors[0].code").exists())
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("create-events-batch"));
+
+        assertThat(this.eventRepository.count()).isEqualTo(3);
+        assertThat(this.eventRepository.findAll()).allMatch(event -> !event.isFree() && event.isOffline());
+    }
+
+    @Test
+    @TestDescription("NDJSON으로 여러 이벤트를 한번에 생성하기")
+    public void createEventsNdjson() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            ndjson.append(objectMapper.writeValueAsString(newEventDto("event " + i))).append('\n');
+        }
+
+        perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType("application/x-ndjson")
+                .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created").value(5))
+                .andExpect(jsonPath("rejected").value(0));
+
+        assertThat(this.eventRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    @TestDescription("형식이 잘못된 항목이 있으면 그 앞까지만 생성하고 400 응답받기")
+    public void createEvents_Bad_Request_Malformed() throws Exception {
+        String body = "[" + objectMapper.writeValueAsString(newEventDto("Spring")) + ", {\"name\": ]";
+
+        perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(body))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").exists())
+                .andExpect(jsonPath("_links.index").exists());
+
+        assertThat(this.eventRepository.count()).isEqualTo(1);
+    }
+
+    private EventDto newEventDto(String name) {
+        return EventDto.builder()
+                .name(name)
+                .description("spring REST API TEST!")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 03, 10, 4, 2, 2))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 03, 11, 4, 2, 2))
+                .beginEventDateTime(LocalDateTime.of(2020, 03, 12, 4, 2, 2))
+                .endEventDateTime(LocalDateTime.of(2020, 03, 13, 4, 2, 2))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("중랑구 소방서")
+                .build();
+    }
+
     private Object[] getBearerToken() throws Exception {
-        return new Object[]{"Bearer", getAccessToken()};
+        return new Object[]{"Bearer " + getAccessToken()};
     }
 
     @Test
@@ -157,7 +262,7 @@ public class EventControllerTests extends BaseControllerTest {
                 .eventStatus(EventStatus.PUBLISHED)
                 .build();
 
-        mockMvc.perform(
+        perform(
                 post("/api/events/")
                         .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                         .contentType(MediaType.APPLICATION_JSON_UTF8)
@@ -172,7 +277,7 @@ public class EventControllerTests extends BaseControllerTest {
     public void createEvent_Bad_Request_Empty_Input() throws Exception {
         var eventDto = EventDto.builder().build();
 
-        this.mockMvc.perform(
+        perform(
                 post("/api/events")
                         .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                         .contentType(MediaType.APPLICATION_JSON_UTF8)
@@ -199,7 +304,7 @@ public class EventControllerTests extends BaseControllerTest {
                 .location("중랑구 소방서")
                 .build();
 
-        this.mockMvc.perform(
+        perform(
                 post("/api/events")
                         .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                         .contentType((MediaType.APPLICATION_JSON_UTF8))
@@ -213,6 +318,56 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("이벤트 생성 단계별 시간과 검증 실패 횟수를 기록한다")
+    public void createEventRecordsMetrics() throws Exception {
+        // Given
+        EventDto event = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+        Object[] bearerToken = getBearerToken();
+        long mapped = timerCount(EventMetrics.STAGE_TIMER, "stage", "map");
+        long saved = timerCount("spring.data.repository.invocations", "method", "save");
+        long serialized = timerCount("http.server.serialization", "uri", "/api/events");
+        double rejected = rejectCount("wrongPrices");
+
+        // When
+        perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(event)))
+                .andExpect(status().isCreated());
+        event.setBasePrice(10000);
+        perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(event)))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        assertThat(timerCount(EventMetrics.STAGE_TIMER, "stage", "map")).isEqualTo(mapped + 1);
+        assertThat(timerCount("spring.data.repository.invocations", "method", "save")).isGreaterThan(saved);
+        assertThat(timerCount("http.server.serialization", "uri", "/api/events")).isEqualTo(serialized + 2);
+        assertThat(rejectCount("wrongPrices")).isEqualTo(rejected + 1);
+    }
+
+    private long timerCount(String name, String tagKey, String tagValue) {
+        return this.meterRegistry.find(name).tag(tagKey, tagValue).timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private double rejectCount(String code) {
+        return this.meterRegistry.find(EventMetrics.VALIDATION_REJECTS).tag("code", code).counters().stream()
+                .mapToDouble(Counter::count).sum();
+    }
+
     @Test
     @TestDescription("30개의 이벤트를 10개씩 두번째 페이지 조회하기")
     public void queryEvents() throws Exception {
@@ -220,7 +375,7 @@ public class EventControllerTests extends BaseControllerTest {
         IntStream.range(0, 30).forEach(this::generateEvent);
 
         // When
-        this.mockMvc.perform(
+        perform(
                 get("/api/events")
                         .param("page", "1")
                         .param("size", "10")
@@ -229,6 +384,7 @@ public class EventControllerTests extends BaseControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("page").exists())
+                .andExpect(jsonPath("page.totalElementsType").value("EXACT"))
                 .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
                 .andExpect(jsonPath("_links.self").exists())
                 .andExpect(jsonPath("_links.profile").exists())
@@ -236,6 +392,393 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("전체 개수를 근사값으로 받아서 이벤트 목록 조회하기")
+    public void queryEventsWithEstimatedCount() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        perform(
+                get("/api/events")
+                        .param("page", "1")
+                        .param("size", "10")
+                        .param("count", "estimated")
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElementsType").value("ESTIMATED"))
+                .andExpect(jsonPath("page.totalElements").isNumber())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("전체 개수 없이 이벤트 목록 조회하기")
+    public void queryEventsWithoutCount() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        perform(
+                get("/api/events")
+                        .param("page", "2")
+                        .param("size", "10")
+                        .param("count", "none")
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.next").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-without-count"))
+        ;
+    }
+
+    @Test
+    @TestDescription("필요한 필드만 골라서 이벤트 목록 조회하기")
+    public void queryEventsWithFields() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        perform(
+                get("/api/events")
+                        .param("page", "1")
+                        .param("size", "10")
+                        .param("sort", "name,DESC")
+                        .param("fields", "id,name,beginEventDateTime,eventStatus")
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("page.totalElements").value(30))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 26"))
+                .andExpect(jsonPath("_embedded.eventList[0].beginEventDateTime").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].eventStatus").value("DRAFT"))
+                .andExpect(jsonPath("_embedded.eventList[0].description").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList[0].manager").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-fields"))
+        ;
+
+        perform(get("/api/events").param("fields", "name").param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].name").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].id").doesNotExist())
+                .andExpect(jsonPath("_links.next").exists());
+    }
+
+    @Test
+    @TestDescription("fields로 고른 표현은 전체 표현과 ETag가 다르다")
+    public void queryEventsWithFieldsETag() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+        String fullETag = perform(get("/api/events"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String fieldsETag = perform(get("/api/events").param("fields", "name"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        assertThat(fieldsETag).isNotEqualTo(fullETag);
+        perform(get("/api/events").param("fields", "name").header(HttpHeaders.IF_NONE_MATCH, fieldsETag))
+                .andExpect(status().isNotModified());
+        perform(get("/api/events").param("fields", "name").header(HttpHeaders.IF_NONE_MATCH, fullETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @TestDescription("고를 수 없는 필드로 이벤트 목록을 조회하면 400 응답받기")
+    public void queryEventsWithFields_Bad_Request() throws Exception {
+        perform(get("/api/events").param("fields", "name,manager"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").exists());
+
+        perform(get("/api/events").param("fields", ","))
+                .andExpect(status().isBadRequest());
+
+        perform(get("/api/events").param("fields", "name").param("sort", "manager"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("manager가 있는 이벤트 목록과 이벤트를 조회해도 계정을 따로 읽지 않는다")
+    public void queryEventsWithManagersWithoutNPlusOne() throws Exception {
+        // Given
+        List<Account> managers = IntStream.range(0, 5)
+                .mapToObj(i -> this.accountRepository.save(Account.builder()
+                        .email("manager" + i + "@email.com")
+                        .password("pass")
+                        .roles(Set.of(AccountRole.USER))
+                        .build()))
+                .collect(Collectors.toList());
+        List<Event> events = IntStream.range(0, 20).mapToObj(i -> {
+            Event event = generateEvent(i);
+            event.setManager(managers.get(i % managers.size()));
+            return this.eventRepository.save(event);
+        }).collect(Collectors.toList());
+
+        // When & Then (목록 select + count)
+        performWithMaxStatements(2, get("/api/events").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(20))
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").isNumber())
+                .andExpect(jsonPath("_embedded.eventList[0].manager.email").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList[0].manager.password").doesNotExist());
+
+        performWithMaxStatements(1, get("/api/events/{id}", events.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("manager.id").value(managers.get(0).getId()));
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 커서로 10개씩 세 페이지 조회하기")
+    public void queryEventsByCursor() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        String firstPage = perform(
+                get("/api/events")
+                        .param("cursor", "")
+                        .param("size", "10")
+                        .param("sort", "name,DESC")
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 9"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-cursor"))
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = perform(get(nextLink(firstPage, "next")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 26"))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String lastPage = perform(get(nextLink(secondPage, "next")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[9].name").value("event 0"))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        perform(get(nextLink(lastPage, "prev")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 26"))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists());
+    }
+
+    @Test
+    @TestDescription("정렬 값이 같은 이벤트는 id 순서로 빠짐없이 커서 조회하기")
+    public void queryEventsByCursorWithTies() throws Exception {
+        // Given
+        // 모든 이벤트의 beginEventDateTime이 같다.
+        List<Integer> ids = IntStream.range(0, 25).mapToObj(this::generateEvent).map(Event::getId)
+                .collect(Collectors.toList());
+
+        // When
+        List<Integer> read = new ArrayList<>();
+        URI next = URI.create("/api/events?cursor=&size=10&sort=beginEventDateTime,ASC");
+        while (next != null) {
+            String page = perform(get(next))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            read.addAll(JsonPath.read(page, "$._embedded.eventList[*].id"));
+            Map<String, Object> links = JsonPath.read(page, "$._links");
+            next = links.containsKey("next") ? nextLink(page, "next") : null;
+        }
+
+        // Then
+        assertThat(read).isEqualTo(ids);
+    }
+
+    @Test
+    @TestDescription("잘못된 커서로 조회했을 때 400 응답받기")
+    public void queryEventsByCursor_Bad_Request() throws Exception {
+        perform(get("/api/events").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").exists())
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @TestDescription("상태, 무료 여부, 시작 시각, 검색어로 이벤트 검색하기")
+    public void searchEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = generateEvent(i);
+            if (i % 3 == 0) {
+                event.setDescription("Spring REST API " + i);
+                event.setEventStatus(EventStatus.PUBLISHED);
+                event.setBeginEventDateTime(LocalDateTime.of(2018, 12, 1, 10, 0).plusDays(i));
+                this.eventRepository.save(event);
+            }
+        });
+
+        // When & Then
+        perform(get("/api/events/search")
+                .param("eventStatus", "PUBLISHED")
+                .param("offline", "true")
+                .param("beginEventFrom", "2018-12-01T00:00:00")
+                .param("beginEventTo", "2018-12-20T00:00:00")
+                .param("q", "spring")
+                .param("size", "3")
+                .param("sort", "beginEventDateTime,DESC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(7))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].description").value("Spring REST API 18"))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("search-events"));
+
+        perform(get("/api/events/search").param("free", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+    }
+
+    @Test
+    @TestDescription("검색 조건이 잘못되면 400 응답받기")
+    public void searchEvents_Bad_Request() throws Exception {
+        perform(get("/api/events/search")
+                .param("beginEventFrom", "2018-12-20T00:00:00")
+                .param("beginEventTo", "2018-12-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].field").value("beginEventTo"));
+
+        perform(get("/api/events/search").param("sort", "location"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").exists());
+
+        perform(get("/api/events/search").param("eventStatus", "UNKNOWN"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @TestDescription("곧 시작하는 이벤트를 시작 시각 순서로 조회하기")
+    public void upcomingEvents() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        IntStream.range(0, 10).forEach(i -> {
+            Event event = generateEvent(i);
+            event.setBeginEventDateTime(now.plusDays(10 - i));
+            event.setEndEventDateTime(now.plusDays(11 - i));
+            event.setEventStatus(i % 2 == 0 ? EventStatus.PUBLISHED : EventStatus.DRAFT);
+            this.eventRepository.save(event);
+        });
+        this.upcomingEventIndex.rebuild();
+
+        // When & Then
+        perform(get("/api/events/upcoming")
+                .param("eventStatus", "PUBLISHED")
+                .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(5))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(2))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 8"))
+                .andExpect(jsonPath("_embedded.eventList[1].name").value("event 6"))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("upcoming-events"));
+
+        perform(get("/api/events/upcoming").param("sort", "name"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").exists());
+    }
+
+    @SuppressWarnings("unchecked")
+    private URI nextLink(String responseBody, String rel) {
+        Map<String, Object> body = new Jackson2JsonParser().parseMap(responseBody);
+        Map<String, Map<String, String>> links = (Map<String, Map<String, String>>) body.get("_links");
+        return URI.create(links.get(rel).get("href"));
+    }
+
+    @Test
+    @TestDescription("모든 이벤트를 NDJSON으로 내보내기")
+    public void exportEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export").param("sort", "name,DESC"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(30);
+        assertThat(new Jackson2JsonParser().parseMap(lines[0]).get("name")).isEqualTo("event 9");
+    }
+
+    @Test
+    @TestDescription("지원하지 않는 정렬로 내보내면 400 응답받기")
+    public void exportEvents_Bad_Request_Wrong_Sort() throws Exception {
+        // Given
+        IntStream.range(0, 3).forEach(this::generateEvent);
+
+        // When & Then
+        perform(get("/api/events/export").param("sort", "foo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andExpect(jsonPath("content[0].code").exists())
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @TestDescription("Accept-Encoding에 gzip이 있으면 압축해서 내보내기")
+    public void exportEventsGzip() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(this::generateEvent);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        byte[] body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(ndjson.split("\n")).hasSize(10);
+        }
+    }
+
     @Test
     @TestDescription("기존의 이벤트를 하나 조회하기")
     public void getEvent() throws Exception {
@@ -243,7 +786,7 @@ public class EventControllerTests extends BaseControllerTest {
         var event = this.generateEvent(100);
 
         // When & Then
-        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+        perform(get("/api/events/{id}", event.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("name").exists())
                 .andExpect(jsonPath("id").exists())
@@ -253,15 +796,158 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("조회한 이벤트는 캐시되고 수정하면 캐시에서 제거된다")
+    public void getEventCachedAndEvictedOnUpdate() throws Exception {
+        // Given
+        var event = this.generateEvent(100);
+        perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        assertThat(this.cacheManager.getCache("events").get(event.getId())).isNotNull();
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        String newEventName = "Cached Event..";
+        eventDto.setName(newEventName);
+
+        // When
+        perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(this.cacheManager.getCache("events").get(event.getId())).isNull();
+        perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value(newEventName));
+    }
+
+    @Test
+    @TestDescription("ETag가 같으면 이벤트를 다시 보내지 않고 304 응답받기")
+    public void getEventNotModified() throws Exception {
+        // Given
+        var event = this.generateEvent(100);
+        String eTag = perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(document("get-an-event-not-modified"));
+
+        perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    @TestDescription("목록이 바뀌지 않았으면 304, 바뀌었으면 200 응답받기")
+    public void queryEventsNotModified() throws Exception {
+        // Given
+        IntStream.range(0, 15).forEach(this::generateEvent);
+        String eTag = perform(get("/api/events").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        perform(get("/api/events").param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        this.generateEvent(100);
+        perform(get("/api/events").param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(16));
+    }
+
+    @Test
+    @TestDescription("목록에 If-Modified-Since만 보내면 version을 미리 읽지 않고 200 응답받기")
+    public void queryEventsIfModifiedSinceSkipsVersionCheck() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+        long versionReads = timerCount("spring.data.repository.invocations", "method", "findVersionsBy");
+
+        // When & Then
+        perform(get("/api/events").param("size", "10")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 21 Oct 2099 07:28:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(5));
+        assertThat(timerCount("spring.data.repository.invocations", "method", "findVersionsBy"))
+                .isEqualTo(versionReads);
+    }
+
+    @Test
+    @TestDescription("If-Match가 현재 ETag와 다르면 이벤트 수정 실패")
+    public void updateEvent412() throws Exception {
+        // Given
+        var event = this.generateEvent(50);
+        String eTag = perform(get("/api/events/{id}", event.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Event..");
+        String bearerToken = (String) getBearerToken()[0];
+
+        perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+
+        // When & Then
+        perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @TestDescription("없는 이벤트를 조회했을 때 404 응답받기")
     public void getEvent404() throws Exception {
         // When & Then
-        this.mockMvc.perform(get("/api/events/{id}", 1234))
+        perform(get("/api/events/{id}", 1234))
                 .andExpect(status().isNotFound())
         ;
     }
 
+    @Test
+    @TestDescription("조회 풀이 한도까지 차면 기다리지 않고 503 응답받기")
+    public void getEvent503WhenBulkheadFull() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        AdaptiveConcurrencyLimiter limiter = this.readBulkhead.getLimiter();
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(); permit != null; permit = limiter.tryAcquire()) {
+            permits.add(permit);
+        }
+
+        try {
+            // When & Then
+            perform(get("/api/events/{id}", event.getId()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("content[0].objectName").value("events"));
+        } finally {
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+
+        perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @TestDescription("이벤트를 정상적으로 수정하기")
     public void updateEvnet() throws Exception {
@@ -274,7 +960,7 @@ public class EventControllerTests extends BaseControllerTest {
         eventDto.setName(newEventName);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        perform(put("/api/events/{id}", event.getId())
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                 .contentType((MediaType.APPLICATION_JSON_UTF8))
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -296,7 +982,7 @@ public class EventControllerTests extends BaseControllerTest {
         EventDto eventDto = new EventDto();
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        perform(put("/api/events/{id}", event.getId())
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                 .contentType((MediaType.APPLICATION_JSON_UTF8))
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -317,7 +1003,7 @@ public class EventControllerTests extends BaseControllerTest {
         eventDto.setMaxPrice(111);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        perform(put("/api/events/{id}", event.getId())
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                 .contentType((MediaType.APPLICATION_JSON_UTF8))
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -335,7 +1021,7 @@ public class EventControllerTests extends BaseControllerTest {
         EventDto eventDto = this.modelMapper.map(event, EventDto.class);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/98776", event.getId())
+        perform(put("/api/events/98776", event.getId())
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken())
                 .contentType((MediaType.APPLICATION_JSON_UTF8))
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -345,26 +1031,6 @@ public class EventControllerTests extends BaseControllerTest {
 
     }
 
-    private Event generateEvent(int index) {
-        Event event = Event.builder()
-                .name("event " + index)
-                .description("test event")
-                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
-                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
-                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
-                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
-                .basePrice(100)
-                .maxPrice(200)
-                .limitOfEnrollment(100)
-                .location("강남역 D2 스타텁 팩토리")
-                .free(false)
-                .offline(true)
-                .eventStatus(EventStatus.DRAFT)
-                .build();
-
-        return this.eventRepository.save(event);
-    }
-
 
     private String getAccessToken() throws Exception {
         // Given
@@ -380,7 +1046,7 @@ public class EventControllerTests extends BaseControllerTest {
         String clientId = "myApp";
         String clientSecret = "pass";
 
-        ResultActions perform = this.mockMvc.perform(post("/oauth/token")
+        ResultActions perform = perform(post("/oauth/token")
                 .with(httpBasic(clientId, clientSecret))
                 .param("username", username)
                 .param("password", password)
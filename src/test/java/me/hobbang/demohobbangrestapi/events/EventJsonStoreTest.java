@@ -0,0 +1,100 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import me.hobbang.demohobbangrestapi.accounts.Account;
+import me.hobbang.demohobbangrestapi.common.BaseControllerTest;
+import me.hobbang.demohobbangrestapi.common.RenderedJson;
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resources;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventJsonStoreTest extends BaseControllerTest {
+
+    @Autowired
+    EventJsonStore eventJsonStore;
+
+    @Test
+    @TestDescription("만들어 둔 JSON을 이어 쓴 결과가 EventResource를 직접 쓴 결과와 같다")
+    public void eventSameAsLiveRendering() throws Exception {
+        // Given
+        Event event = event(1001, 0L, "이벤트 \"1\"");
+        Link profile = new Link("/docs/index.html#resources-events-get").withRel("profile");
+        this.eventJsonStore.put(event);
+
+        // When
+        String rendered = write(this.eventJsonStore.event(event, profile));
+
+        // Then
+        EventResource expected = new EventResource(event);
+        expected.add(profile);
+        assertThat(rendered).isEqualTo(this.eventJsonStore.getObjectMapper().writeValueAsString(expected));
+    }
+
+    @Test
+    @TestDescription("version이 다르면 저장해 둔 JSON을 쓰지 않고 다시 만든다")
+    public void renderAgainWhenVersionChanged() throws Exception {
+        // Given
+        this.eventJsonStore.put(event(1002, 0L, "before"));
+
+        // When
+        String rendered = write(this.eventJsonStore.event(event(1002, 1L, "after")));
+
+        // Then
+        assertThat(this.objectMapper.readTree(rendered).get("name").asText()).isEqualTo("after");
+    }
+
+    @Test
+    @TestDescription("이벤트 JSON을 이어 쓴 목록이 Resources를 직접 쓴 결과와 같다")
+    public void pageSameAsLiveRendering() throws Exception {
+        // Given
+        List<Event> events = List.of(event(1003, 0L, "first"), event(1004, 2L, "second"));
+        Link self = new Link("/api/events?page=0").withSelfRel();
+
+        // When
+        String rendered = write(this.eventJsonStore.page(events, new Resources<EventResource>(List.of(), self)));
+        String empty = write(this.eventJsonStore.page(List.of(), new Resources<EventResource>(List.of(), self)));
+
+        // Then
+        Resources<EventResource> expected = new Resources<>(List.of(new EventResource(events.get(0)),
+                new EventResource(events.get(1))), self);
+        assertThat(this.objectMapper.readTree(rendered))
+                .isEqualTo(this.objectMapper.readTree(this.eventJsonStore.getObjectMapper().writeValueAsString(expected)));
+        assertThat(empty).isEqualTo(this.eventJsonStore.getObjectMapper()
+                .writeValueAsString(new Resources<EventResource>(List.of(), self)));
+    }
+
+    private static String write(RenderedJson renderedJson) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderedJson.writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Event event(int id, Long version, String name) {
+        return Event.builder()
+                .id(id)
+                .version(version)
+                .name(name)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(Account.builder().id(1).build())
+                .lastModifiedDateTime(LocalDateTime.of(2018, 11, 20, 10, 0))
+                .build();
+    }
+}
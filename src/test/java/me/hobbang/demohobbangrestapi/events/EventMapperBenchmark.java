@@ -0,0 +1,81 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*
+EventDto -> Event 매핑 비용 비교. (ModelMapper vs EventMapper)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMapperBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private EventMapper eventMapper;
+
+    private EventDto eventDto;
+
+    private Event existingEvent;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = new ModelMapper();
+        this.eventMapper = new EventMapper();
+        this.eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location("강남역 D2 스타텁 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+        this.existingEvent = this.eventMapper.toEvent(this.eventDto);
+        // ModelMapper는 첫 매핑 때 TypeMap을 만들기 때문에 미리 한번 매핑해둔다.
+        this.modelMapper.map(this.eventDto, Event.class);
+        this.modelMapper.map(this.eventDto, this.existingEvent);
+    }
+
+    @Benchmark
+    public Event modelMapperToEvent() {
+        return this.modelMapper.map(this.eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event eventMapperToEvent() {
+        return this.eventMapper.toEvent(this.eventDto);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        this.modelMapper.map(this.eventDto, this.existingEvent);
+        return this.existingEvent;
+    }
+
+    @Benchmark
+    public Event eventMapperUpdate() {
+        this.eventMapper.update(this.eventDto, this.existingEvent);
+        return this.existingEvent;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventMapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
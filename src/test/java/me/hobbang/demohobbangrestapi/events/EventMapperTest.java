@@ -0,0 +1,123 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.hobbang.demohobbangrestapi.accounts.Account;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+EventMapper가 기존에 쓰던 ModelMapper와 똑같이 매핑하는지 비교한다.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class EventMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final EventMapper eventMapper = new EventMapper();
+
+    private Object[] parametersForEventDtos() {
+        return new Object[]{
+                new Object[]{"강남", 100, 200},
+                new Object[]{null, 0, 0},
+                new Object[]{"    ", 0, 100},
+                new Object[]{"", 100, 0},
+        };
+    }
+
+    @Test
+    @Parameters(method = "parametersForEventDtos")
+    public void toEvent(String location, int basePrice, int maxPrice) {
+        // Given
+        EventDto eventDto = eventDto(location, basePrice, maxPrice);
+
+        // When
+        Event expected = this.modelMapper.map(eventDto, Event.class);
+        Event actual = this.eventMapper.toEvent(eventDto);
+
+        // Then
+        assertThat(actual).isEqualToComparingFieldByField(expected);
+        assertThat(actual.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+
+        expected.update();
+        actual.update();
+        assertThat(actual).isEqualToComparingFieldByField(expected);
+    }
+
+    @Test
+    @Parameters(method = "parametersForEventDtos")
+    public void update(String location, int basePrice, int maxPrice) {
+        // Given
+        EventDto eventDto = eventDto(location, basePrice, maxPrice);
+        Event expected = existingEvent();
+        Event actual = existingEvent();
+
+        // When
+        this.modelMapper.map(eventDto, expected);
+        this.eventMapper.update(eventDto, actual);
+
+        // Then
+        assertThat(actual).isEqualToComparingFieldByField(expected);
+        assertThat(actual.getId()).isEqualTo(10);
+        assertThat(actual.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+
+        expected.update();
+        actual.update();
+        assertThat(actual).isEqualToComparingFieldByField(expected);
+    }
+
+    @Test
+    public void toDto() {
+        // Given
+        Event event = existingEvent();
+
+        // When
+        EventDto expected = this.modelMapper.map(event, EventDto.class);
+        EventDto actual = this.eventMapper.toDto(event);
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private EventDto eventDto(String location, int basePrice, int maxPrice) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location(location)
+                .basePrice(basePrice)
+                .maxPrice(maxPrice)
+                .limitOfEnrollment(100)
+                .build();
+    }
+
+    private Event existingEvent() {
+        return Event.builder()
+                .id(10)
+                .name("event")
+                .description("existing event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 1, 1, 10, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 1, 2, 10, 0))
+                .beginEventDateTime(LocalDateTime.of(2019, 1, 3, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2019, 1, 4, 10, 0))
+                .location("판교")
+                .basePrice(50)
+                .maxPrice(60)
+                .limitOfEnrollment(10)
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(Account.builder().id(1).email("manager@email.com").build())
+                .version(3L)
+                .lastModifiedDateTime(LocalDateTime.of(2019, 1, 1, 9, 0))
+                .build();
+    }
+}
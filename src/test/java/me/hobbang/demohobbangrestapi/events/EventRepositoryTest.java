@@ -0,0 +1,63 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import me.hobbang.demohobbangrestapi.common.BaseControllerTest;
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.hibernate.Session;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventRepositoryTest extends BaseControllerTest {
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    @TestDescription("insertAll로 저장한 청크는 영속성 컨텍스트에 남지 않는다")
+    public void insertAllClearsPersistenceContext() {
+        // Given
+        List<Event> chunk = IntStream.range(0, 5).mapToObj(this::event).collect(Collectors.toList());
+
+        // When & Then
+        // 요청 하나가 같은 EntityManager로 여러 청크를 저장하는 것처럼 바깥 트랜잭션 안에서 확인한다.
+        new TransactionTemplate(this.transactionManager).execute(status -> {
+            this.eventRepository.insertAll(chunk);
+            assertThat(chunk).allMatch(event -> event.getId() != null);
+            assertThat(chunk).noneMatch(this.entityManager::contains);
+            assertThat(this.entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+            return null;
+        });
+        assertThat(this.eventRepository.findAllById(chunk.stream().map(Event::getId).collect(Collectors.toList())))
+                .hasSize(5);
+    }
+
+    private Event event(int index) {
+        return Event.builder()
+                .name("batch event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.hobbang.demohobbangrestapi.common.ErrorsResource;
+import me.hobbang.demohobbangrestapi.common.ErrorsSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+응답 직렬화 비용. 이벤트 목록 한 페이지(PagedResources<EventResource>)와 400 응답(ErrorsResource).
+ObjectMapper는 스프링 HATEOAS가 HAL 응답에 쓰는 것과 같게 구성한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private PagedResources<EventResource> page;
+
+    private ErrorsResource errorsResource;
+
+    @Setup
+    public void setUp() {
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .registerModule(new SimpleModule().addSerializer(Errors.class, new ErrorsSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultRelProvider(), null, null));
+
+        List<EventResource> content = new ArrayList<>(this.pageSize);
+        for (int i = 0; i < this.pageSize; i++) {
+            content.add(new EventResource(event(i)));
+        }
+        this.page = new PagedResources<>(content, new PagedResources.PageMetadata(this.pageSize, 1, 10_000),
+                new Link("http://localhost:8080/api/events?page=1&size=" + this.pageSize).withSelfRel(),
+                new Link("http://localhost:8080/api/events?page=2&size=" + this.pageSize, Link.REL_NEXT),
+                new Link("/docs/index.html#resources-events-list").withRel("profile"));
+
+        EventDto eventDto = EventDto.builder()
+                .name("Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .basePrice(10000)
+                .maxPrice(200)
+                .build();
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        errors.rejectValue("description", "NotEmpty", "must not be empty");
+        new EventValidator().validate(eventDto, errors);
+        this.errorsResource = new ErrorsResource(errors);
+    }
+
+    @Benchmark
+    public byte[] pagedEvents() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.page);
+    }
+
+    @Benchmark
+    public byte[] errors() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.errorsResource);
+    }
+
+    private static Event event(int i) {
+        Event event = Event.builder()
+                .id(i)
+                .name("event " + i)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location("강남역 D2 스타텁 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .eventStatus(EventStatus.PUBLISHED)
+                .version(1L)
+                .lastModifiedDateTime(LocalDateTime.of(2018, 11, 20, 10, 0))
+                .build();
+        event.update();
+        return event;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventSerializationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import me.hobbang.demohobbangrestapi.accounts.AccountRepository;
+import me.hobbang.demohobbangrestapi.common.BaseControllerTest;
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "app.events.read-stack=streaming")
+public class EventStreamControllerTest extends BaseControllerTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("스트리밍으로 조회한 이벤트 목록이 기존 목록 조회와 같다")
+    public void queryEventsSameAsMvc() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When
+        String streamed = perform(get("/api/events")
+                .param("page", "1")
+                .param("size", "10")
+                .param("sort", "name,DESC"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("_embedded.eventList", hasSize(10)))
+                .andReturn().getResponse().getContentAsString();
+
+        // 조건부 요청은 EventController가 처리한다.
+        String mvc = perform(get("/api/events")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"none\"")
+                .param("page", "1")
+                .param("size", "10")
+                .param("sort", "name,DESC"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(this.objectMapper.readTree(streamed)).isEqualTo(this.objectMapper.readTree(mvc));
+    }
+
+    @Test
+    @TestDescription("스트리밍으로 빈 페이지 조회하기")
+    public void queryEventsEmpty() throws Exception {
+        perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded").doesNotExist())
+                .andExpect(jsonPath("page.totalElements").value(0))
+                .andExpect(jsonPath("_links.self").exists());
+    }
+
+    @Test
+    @TestDescription("스트리밍으로 지원하지 않는 속성으로 정렬하면 400")
+    public void queryEventsWrongSort() throws Exception {
+        perform(get("/api/events").param("sort", "manager,ASC"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").exists());
+    }
+}
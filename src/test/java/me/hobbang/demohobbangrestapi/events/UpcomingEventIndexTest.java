@@ -0,0 +1,109 @@
+package me.hobbang.demohobbangrestapi.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UpcomingEventIndexTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    // DB에서 다시 만들지 않으므로 JdbcTemplate은 없어도 된다.
+    private final UpcomingEventIndex index = new UpcomingEventIndex(null, this.registry, Duration.ofDays(90));
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    @TestDescription("시작 시각, id 순서로 offset부터 limit개와 전체 개수를 찾는다")
+    public void findInBeginEventOrder() {
+        // Given
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            // 같은 시각이 섞이도록 두 개씩 같은 시각
+            events.add(event(150 - i, this.now.plusHours(1 + i / 2), EventStatus.PUBLISHED, i % 2 == 0));
+        }
+        this.index.putAll(events);
+
+        // When
+        UpcomingEventIndex.Hits hits = this.index.find(new UpcomingEventSearch(), this.now, 63, 3);
+        UpcomingEventIndex.Hits free = this.index.find(search(null, true, null), this.now, 30, 4);
+
+        // Then
+        assertThat(hits.getTotal()).isEqualTo(150);
+        assertThat(hits.getIds()).containsExactly(88, 85, 86);
+        assertThat(free.getTotal()).isEqualTo(75);
+        assertThat(free.getIds()).containsExactly(90, 88, 86, 84);
+        assertThat(this.registry.get("events.upcoming.index.size").gauge().value()).isEqualTo(150);
+    }
+
+    @Test
+    @TestDescription("상태, 무료 여부, 모집 중 조건으로 거른다")
+    public void filterByFlagsAndEnrollment() {
+        // Given
+        Event enrolling = event(1, this.now.plusDays(2), EventStatus.PUBLISHED, true);
+        enrolling.setBeginEnrollmentDateTime(this.now.minusDays(1));
+        enrolling.setCloseEnrollmentDateTime(this.now.plusDays(1));
+        Event closed = event(2, this.now.plusDays(3), EventStatus.PUBLISHED, true);
+        Event draft = event(3, this.now.plusDays(4), EventStatus.DRAFT, false);
+        Event started = event(4, this.now.minusHours(1), EventStatus.PUBLISHED, true);
+        this.index.putAll(List.of(enrolling, closed, draft, started));
+
+        // When & Then
+        assertThat(this.index.find(search(EventStatus.PUBLISHED, null, null), this.now, 0, 10).getIds())
+                .containsExactly(1, 2);
+        assertThat(this.index.find(search(null, false, null), this.now, 0, 10).getIds())
+                .containsExactly(3);
+        UpcomingEventSearch search = search(EventStatus.PUBLISHED, true, true);
+        search.setEnrolling(true);
+        assertThat(this.index.find(search, this.now, 0, 10).getIds()).containsExactly(1);
+        assertThat(this.index.find(search(null, null, false), this.now, 0, 10).getTotal()).isEqualTo(0);
+    }
+
+    @Test
+    @TestDescription("바뀐 이벤트는 자리를 옮기고 범위를 벗어나면 빠진다")
+    public void putMovesAndRemovesEvents() {
+        // Given
+        this.index.putAll(List.of(
+                event(1, this.now.plusDays(1), EventStatus.PUBLISHED, false),
+                event(2, this.now.plusDays(2), EventStatus.PUBLISHED, false),
+                event(3, this.now.plusDays(3), EventStatus.PUBLISHED, false)));
+
+        // When
+        this.index.put(event(1, this.now.plusDays(5), EventStatus.PUBLISHED, false));
+        this.index.put(event(2, this.now.plusDays(365), EventStatus.PUBLISHED, false));
+        this.index.put(event(3, this.now.plusDays(3), EventStatus.BEGAN_ENROLLMENT, false));
+
+        // Then
+        assertThat(this.index.find(new UpcomingEventSearch(), this.now, 0, 10).getIds()).containsExactly(3, 1);
+        assertThat(this.index.find(search(EventStatus.PUBLISHED, null, null), this.now, 0, 10).getIds())
+                .containsExactly(1);
+    }
+
+    private static UpcomingEventSearch search(EventStatus eventStatus, Boolean free, Boolean offline) {
+        UpcomingEventSearch search = new UpcomingEventSearch();
+        search.setEventStatus(eventStatus);
+        search.setFree(free);
+        search.setOffline(offline);
+        return search;
+    }
+
+    private static Event event(int id, LocalDateTime beginEventDateTime, EventStatus eventStatus, boolean free) {
+        return Event.builder()
+                .id(id)
+                .name("event " + id)
+                .beginEventDateTime(beginEventDateTime)
+                .endEventDateTime(beginEventDateTime.plusHours(2))
+                .eventStatus(eventStatus)
+                .free(free)
+                .offline(true)
+                .build();
+    }
+}
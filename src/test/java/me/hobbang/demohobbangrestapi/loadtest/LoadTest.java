@@ -0,0 +1,418 @@
+package me.hobbang.demohobbangrestapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.hobbang.demohobbangrestapi.DemoApplication;
+import me.hobbang.demohobbangrestapi.accounts.Account;
+import me.hobbang.demohobbangrestapi.accounts.AccountRole;
+import me.hobbang.demohobbangrestapi.accounts.AccountService;
+import me.hobbang.demohobbangrestapi.events.Event;
+import me.hobbang.demohobbangrestapi.events.EventDto;
+import me.hobbang.demohobbangrestapi.events.EventRepository;
+import me.hobbang.demohobbangrestapi.events.EventStatus;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+API 부하 테스트. test 프로필(H2)로 애플리케이션을 띄우고 계정과 이벤트를 넣은 뒤
+/oauth/token으로 받은 토큰으로 목록/조회/생성/수정 요청을 섞어서 정해진 동시성으로 보낸다.
+결과는 엔드포인트별 HdrHistogram 백분위수로 target/loadtest-report.json에 남기고,
+기준값 파일이 있으면 비교해서 느려진 엔드포인트가 있으면 실패한다.
+
+mvn -Ploadtest test
+mvn -Ploadtest test -Dloadtest.concurrency=32 -Dloadtest.duration=PT1M
+mvn -Ploadtest test -Dloadtest.update-baseline=true  (이번 결과를 기준값으로 저장)
+mvn -Ploadtest test -Dloadtest.read-stack=streaming -Dloadtest.mix=list:100  (목록 조회를 스트리밍으로 처리한 결과와 비교)
+
+H2 위에서 잰 값이므로 운영 DB의 절대값이 아니라 배포 전후 비교용이다. 같은 장비에서 만든 기준값과만 비교한다.
+ */
+public class LoadTest {
+
+    enum Operation {
+        LIST("GET /api/events"),
+        GET("GET /api/events/{id}"),
+        CREATE("POST /api/events"),
+        UPDATE("PUT /api/events/{id}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final Settings settings;
+
+    private final URI baseUri;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+    private final Operation[] mix;
+
+    private List<String> accessTokens;
+
+    private int[] eventIds;
+
+    LoadTest(Settings settings, URI baseUri, ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            this.recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            this.errors.put(operation, new AtomicLong());
+        }
+        this.mix = settings.mix();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        // properties()는 기본값이라 application.properties에 밀리므로 커맨드라인 인자로 넘긴다.
+        // SQL, 시큐리티 디버그 로그를 남기면 로그 출력 시간을 재게 된다.
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--app.events.read-stack=" + settings.readStack));
+        arguments.addAll(List.of(args));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .run(arguments.toArray(new String[0]));
+
+        List<String> regressions;
+        try {
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            LoadTest loadTest = new LoadTest(settings, baseUri, context.getBean(ObjectMapper.class));
+            loadTest.seed(context.getBean(AccountService.class), context.getBean(EventRepository.class));
+            LoadTestReport report = loadTest.run();
+            regressions = loadTest.report(report);
+        } finally {
+            context.close();
+        }
+
+        // mvn -Ploadtest에서는 빌드 실패로 보인다.
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Load test regressed against the baseline: " + regressions);
+        }
+    }
+
+    void seed(AccountService accountService, EventRepository eventRepository) throws IOException, InterruptedException {
+        List<Account> accounts = new ArrayList<>(this.settings.accounts);
+        for (int i = 0; i < this.settings.accounts; i++) {
+            accounts.add(accountService.saveAccount(Account.builder()
+                    .email("loadtest" + i + "@email.com")
+                    .password("pass")
+                    .roles(Set.of(AccountRole.USER))
+                    .build()));
+        }
+
+        this.eventIds = new int[this.settings.events];
+        List<Event> batch = new ArrayList<>();
+        for (int i = 0; i < this.settings.events; i++) {
+            Event event = event(i);
+            event.setManager(accounts.get(i % accounts.size()));
+            batch.add(event);
+            if (batch.size() == SEED_BATCH_SIZE || i == this.settings.events - 1) {
+                eventRepository.insertAll(batch);
+                for (int j = 0; j < batch.size(); j++) {
+                    this.eventIds[i - batch.size() + 1 + j] = batch.get(j).getId();
+                }
+                batch = new ArrayList<>();
+            }
+        }
+
+        // 토큰 발급은 bcrypt 때문에 느리므로 부하 구간 전에 계정마다 한번씩만 받는다.
+        this.accessTokens = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            this.accessTokens.add(accessToken(account.getEmail(), "pass"));
+        }
+        System.out.printf("Seeded %d accounts and %d events%n", accounts.size(), this.eventIds.length);
+    }
+
+    LoadTestReport run() throws Exception {
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + this.settings.warmup.toNanos();
+        long endNanos = measureStartNanos + this.settings.duration.toNanos();
+
+        // 부하 테스트 자신의 스레드도 들어가지만 읽기 방식을 바꿔도 같으므로 비교할 수 있다.
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        ExecutorService workers = Executors.newFixedThreadPool(this.settings.concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < this.settings.concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    // 워밍업 구간의 측정값은 버린다.
+                    boolean measuring = false;
+                    long now;
+                    while ((now = System.nanoTime()) < endNanos) {
+                        if (!measuring && now >= measureStartNanos) {
+                            measuring = true;
+                        }
+                        execute(this.mix[ThreadLocalRandom.current().nextInt(this.mix.length)], measuring);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        LoadTestReport report = new LoadTestReport(this.settings.duration.toMillis(), this.settings.concurrency);
+        report.setReadStack(this.settings.readStack);
+        report.setPeakThreads(threads.getPeakThreadCount());
+        for (Operation operation : Operation.values()) {
+            report.add(operation.endpoint, this.recorders.get(operation).getIntervalHistogram(),
+                    this.errors.get(operation).get());
+        }
+        return report;
+    }
+
+    private void execute(Operation operation, boolean measuring) {
+        HttpRequest request = request(operation);
+        long started = System.nanoTime();
+        int status;
+        try {
+            status = this.httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!measuring) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+        this.recorders.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!expected(operation, status)) {
+            this.errors.get(operation).incrementAndGet();
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case LIST:
+                return HttpRequest.newBuilder(this.baseUri.resolve("/api/events?size=20&sort=name,DESC&page="
+                        + random.nextInt(Math.max(1, this.eventIds.length / 20)))).GET().build();
+            case GET:
+                return HttpRequest.newBuilder(this.baseUri.resolve("/api/events/" + randomEventId(random))).GET().build();
+            case CREATE:
+                return authorized(HttpRequest.newBuilder(this.baseUri.resolve("/api/events")), random)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(eventDto(random.nextInt())))
+                        .build();
+            default:
+                return authorized(HttpRequest.newBuilder(this.baseUri.resolve("/api/events/" + randomEventId(random))), random)
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(eventDto(random.nextInt())))
+                        .build();
+        }
+    }
+
+    private static boolean expected(Operation operation, int status) {
+        switch (operation) {
+            case CREATE:
+                return status == 201;
+            case UPDATE:
+                // 같은 이벤트를 동시에 수정하면 낙관적 잠금으로 412가 난다.
+                return status == 200 || status == 412;
+            default:
+                return status == 200;
+        }
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder, ThreadLocalRandom random) {
+        return builder
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + this.accessTokens.get(random.nextInt(this.accessTokens.size())))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_UTF8_VALUE);
+    }
+
+    private int randomEventId(ThreadLocalRandom random) {
+        return this.eventIds[random.nextInt(this.eventIds.length)];
+    }
+
+    private String accessToken(String username, String password) throws IOException, InterruptedException {
+        String form = "grant_type=password&username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(this.baseUri.resolve("/oauth/token"))
+                .header(HttpHeaders.AUTHORIZATION, "Basic "
+                        + Base64.getEncoder().encodeToString("myApp:pass".getBytes(StandardCharsets.UTF_8)))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        HttpResponse<String> response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Failed to get an access token for " + username + ": " + response.body());
+        }
+        return this.objectMapper.readTree(response.body()).get("access_token").asText();
+    }
+
+    private byte[] eventDto(int seed) {
+        EventDto eventDto = EventDto.builder()
+                .name("load test event " + seed)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location("강남역 D2 스타텁 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+        try {
+            return this.objectMapper.writeValueAsBytes(eventDto);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Event event(int index) {
+        return Event.builder()
+                .name("event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+    }
+
+    private List<String> report(LoadTestReport report) throws IOException {
+        System.out.print(report.toTable());
+        report.write(this.settings.report);
+        System.out.println("Report written to " + this.settings.report.toAbsolutePath());
+
+        if (this.settings.updateBaseline) {
+            report.write(this.settings.baseline);
+            System.out.println("Baseline updated: " + this.settings.baseline.toAbsolutePath());
+            return List.of();
+        }
+        if (!Files.exists(this.settings.baseline)) {
+            System.out.println("No baseline at " + this.settings.baseline.toAbsolutePath() + ", skipping comparison");
+            return List.of();
+        }
+
+        List<String> regressions = report.regressionsAgainst(LoadTestReport.read(this.settings.baseline),
+                this.settings.tolerance);
+        if (regressions.isEmpty()) {
+            System.out.printf("No regressions against baseline (tolerance %.0f%%)%n", this.settings.tolerance * 100);
+        } else {
+            System.out.println("REGRESSIONS against baseline:");
+            regressions.forEach(regression -> System.out.println("  " + regression));
+        }
+        return regressions;
+    }
+
+    static class Settings {
+
+        int accounts;
+
+        int events;
+
+        int concurrency;
+
+        Duration warmup;
+
+        Duration duration;
+
+        String mix;
+
+        Path report;
+
+        Path baseline;
+
+        double tolerance;
+
+        boolean updateBaseline;
+
+        String readStack;
+
+        static Settings fromSystemProperties() {
+            Settings settings = new Settings();
+            settings.accounts = Integer.getInteger("loadtest.accounts", 10);
+            settings.events = Integer.getInteger("loadtest.events", 10_000);
+            settings.concurrency = Integer.getInteger("loadtest.concurrency", 16);
+            settings.warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+            settings.duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+            settings.mix = System.getProperty("loadtest.mix", "list:30,get:50,create:10,update:10");
+            settings.report = Paths.get(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+            settings.baseline = Paths.get(System.getProperty("loadtest.baseline", "loadtest-baseline.json"));
+            settings.tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+            settings.updateBaseline = Boolean.getBoolean("loadtest.update-baseline");
+            settings.readStack = System.getProperty("loadtest.read-stack", "mvc");
+            return settings;
+        }
+
+        /**
+         * "list:30,get:50" 같은 비율을 가중치만큼 반복한 배열로 만들어서 무작위로 고른다.
+         */
+        Operation[] mix() {
+            List<Operation> operations = new ArrayList<>();
+            for (String entry : this.mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                Operation operation = Operation.valueOf(parts[0].trim().toUpperCase());
+                int weight = Integer.parseInt(parts[1].trim());
+                for (int i = 0; i < weight; i++) {
+                    operations.add(operation);
+                }
+            }
+            if (operations.isEmpty()) {
+                throw new IllegalArgumentException("loadtest.mix must not be empty");
+            }
+            return operations.toArray(new Operation[0]);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package me.hobbang.demohobbangrestapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트별 처리량과 지연 시간 백분위수. JSON으로 저장해두고 다음 실행의 기준값(baseline)으로 쓴다.
+ */
+@Data
+@NoArgsConstructor
+public class LoadTestReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private long durationMillis;
+
+    private int concurrency;
+
+    // app.events.read-stack
+    private String readStack;
+
+    // 측정하는 동안 JVM의 최대 스레드 수
+    private int peakThreads;
+
+    private Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+
+    LoadTestReport(long durationMillis, int concurrency) {
+        this.durationMillis = durationMillis;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 히스토그램 값은 마이크로초, 리포트는 밀리초로 남긴다.
+     */
+    void add(String endpoint, Histogram histogram, long errors) {
+        double seconds = this.durationMillis / 1000.0;
+        this.endpoints.put(endpoint, new EndpointResult(
+                histogram.getTotalCount(),
+                errors,
+                seconds > 0 ? histogram.getTotalCount() / seconds : 0,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    /**
+     * 기준값보다 p50, p99가 tolerance 비율 넘게 느려졌거나 기준값에 없던 오류가 생긴 엔드포인트를 찾는다.
+     */
+    List<String> regressionsAgainst(LoadTestReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        baseline.getEndpoints().forEach((endpoint, expected) -> {
+            EndpointResult actual = this.endpoints.get(endpoint);
+            if (actual == null) {
+                return;
+            }
+            checkLatency(regressions, endpoint, "p50", expected.getP50(), actual.getP50(), tolerance);
+            checkLatency(regressions, endpoint, "p99", expected.getP99(), actual.getP99(), tolerance);
+            if (expected.getErrors() == 0 && actual.getErrors() > 0) {
+                regressions.add(String.format("%s: %d errors (baseline 0)", endpoint, actual.getErrors()));
+            }
+        });
+        return regressions;
+    }
+
+    private static void checkLatency(List<String> regressions, String endpoint, String percentile,
+                                     double expected, double actual, double tolerance) {
+        if (actual > expected * (1 + tolerance)) {
+            regressions.add(String.format("%s: %s %.2fms (baseline %.2fms, +%.0f%%)",
+                    endpoint, percentile, actual, expected, (actual / expected - 1) * 100));
+        }
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%-24s %8s %7s %9s %8s %8s %8s %8s %8s%n",
+                "endpoint", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max"));
+        this.endpoints.forEach((endpoint, result) -> table.append(String.format(
+                "%-24s %8d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                endpoint, result.getCount(), result.getErrors(), result.getThroughput(),
+                result.getP50(), result.getP90(), result.getP99(), result.getP999(), result.getMax())));
+        table.append(String.format("read stack: %s, peak threads: %d%n", this.readStack, this.peakThreads));
+        return table.toString();
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static LoadTestReport read(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    private static double millis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointResult {
+
+        private long count;
+
+        private long errors;
+
+        private double throughput;
+
+        private double p50;
+
+        private double p90;
+
+        private double p99;
+
+        private double p999;
+
+        private double max;
+    }
+}
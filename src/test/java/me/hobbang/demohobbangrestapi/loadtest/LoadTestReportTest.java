@@ -0,0 +1,64 @@
+package me.hobbang.demohobbangrestapi.loadtest;
+
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.HdrHistogram.Histogram;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadTestReportTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @TestDescription("히스토그램을 밀리초 백분위수와 초당 처리량으로 남긴다")
+    public void add() {
+        // Given
+        LoadTestReport report = new LoadTestReport(2_000, 4);
+
+        // When
+        report.add("GET /api/events", histogram(1_000, 100, 50_000, 1), 0);
+
+        // Then
+        LoadTestReport.EndpointResult result = report.getEndpoints().get("GET /api/events");
+        assertThat(result.getCount()).isEqualTo(101);
+        assertThat(result.getThroughput()).isEqualTo(50.5);
+        assertThat(result.getP50()).isEqualTo(1.0);
+        assertThat(result.getMax()).isBetween(49.9, 50.1);
+    }
+
+    @Test
+    @TestDescription("기준값보다 허용 범위 넘게 느려지거나 오류가 생긴 엔드포인트를 찾는다")
+    public void regressionsAgainst() throws Exception {
+        // Given
+        LoadTestReport baseline = new LoadTestReport(1_000, 4);
+        baseline.add("GET /api/events", histogram(1_000, 100, 2_000, 1), 0);
+        baseline.add("POST /api/events", histogram(5_000, 100, 10_000, 1), 0);
+        Path path = this.temporaryFolder.getRoot().toPath().resolve("baseline.json");
+        baseline.write(path);
+
+        LoadTestReport report = new LoadTestReport(1_000, 4);
+        report.add("GET /api/events", histogram(1_100, 100, 2_100, 1), 0);
+        report.add("POST /api/events", histogram(8_000, 100, 10_000, 1), 3);
+
+        // When
+        List<String> regressions = report.regressionsAgainst(LoadTestReport.read(path), 0.2);
+
+        // Then
+        assertThat(regressions).hasSize(3);
+        assertThat(regressions).allMatch(regression -> regression.startsWith("POST /api/events"));
+    }
+
+    private static Histogram histogram(long value, int count, long outlier, int outliers) {
+        Histogram histogram = new Histogram(60_000_000L, 3);
+        histogram.recordValueWithCount(value, count);
+        histogram.recordValueWithCount(outlier, outliers);
+        return histogram;
+    }
+}
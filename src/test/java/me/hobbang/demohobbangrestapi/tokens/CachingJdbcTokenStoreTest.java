@@ -0,0 +1,166 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class CachingJdbcTokenStoreTest {
+
+    @Autowired
+    TokenStore tokenStore;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Before
+    public void setUp() {
+        this.jdbcTemplate.update("delete from oauth_access_token");
+        this.jdbcTemplate.update("delete from oauth_refresh_token");
+        this.cacheManager.getCache("access-tokens").clear();
+    }
+
+    @Test
+    @TestDescription("access token과 인증 정보를 한번 읽으면 캐시에서 꺼내온다")
+    public void readAccessTokenCached() {
+        // Given
+        assertThat(this.tokenStore).isInstanceOf(CachingJdbcTokenStore.class);
+        OAuth2AccessToken token = accessToken(60_000);
+        this.tokenStore.storeAccessToken(token, authentication("reader@email.com"));
+
+        // When
+        OAuth2AccessToken read = this.tokenStore.readAccessToken(token.getValue());
+
+        // Then
+        assertThat(read.getValue()).isEqualTo(token.getValue());
+        // 테이블에서 지워도 캐시에 남아있는 인증 정보를 읽는다.
+        this.jdbcTemplate.update("delete from oauth_access_token");
+        assertThat(this.tokenStore.readAuthentication(token.getValue()).getName()).isEqualTo("reader@email.com");
+    }
+
+    @Test
+    @TestDescription("토큰을 저장할 때 만료 시각도 같이 저장한다")
+    public void storeTokensWithExpiration() {
+        // Given
+        DefaultExpiringOAuth2RefreshToken refreshToken =
+                new DefaultExpiringOAuth2RefreshToken(UUID.randomUUID().toString(), new Date(System.currentTimeMillis() + 120_000));
+        DefaultOAuth2AccessToken token = accessToken(60_000);
+        token.setRefreshToken(refreshToken);
+        OAuth2Authentication authentication = authentication("expiring@email.com");
+
+        // When
+        this.tokenStore.storeRefreshToken(refreshToken, authentication);
+        this.tokenStore.storeAccessToken(token, authentication);
+
+        // Then
+        assertThat(this.jdbcTemplate.queryForObject("select expiration from oauth_access_token", Date.class).getTime())
+                .isEqualTo(token.getExpiration().getTime());
+        assertThat(this.jdbcTemplate.queryForObject("select expiration from oauth_refresh_token", Date.class).getTime())
+                .isEqualTo(refreshToken.getExpiration().getTime());
+        assertThat(this.tokenStore.readRefreshToken(refreshToken.getValue()).getValue()).isEqualTo(refreshToken.getValue());
+        assertThat(this.tokenStore.readAuthentication(token.getValue()).getName()).isEqualTo("expiring@email.com");
+    }
+
+    @Test
+    @TestDescription("access token을 지우면 캐시에서도 지운다")
+    public void removeAccessTokenEvicts() {
+        // Given
+        OAuth2AccessToken token = accessToken(60_000);
+        this.tokenStore.storeAccessToken(token, authentication("removed@email.com"));
+        this.tokenStore.readAccessToken(token.getValue());
+
+        // When
+        this.tokenStore.removeAccessToken(token);
+
+        // Then
+        assertThat(this.tokenStore.readAccessToken(token.getValue())).isNull();
+    }
+
+    @Test
+    @TestDescription("refresh token으로 access token을 지우면 캐시에서도 지운다")
+    public void removeAccessTokenUsingRefreshTokenEvicts() {
+        // Given
+        DefaultExpiringOAuth2RefreshToken refreshToken =
+                new DefaultExpiringOAuth2RefreshToken(UUID.randomUUID().toString(), new Date(System.currentTimeMillis() + 60_000));
+        DefaultOAuth2AccessToken token = accessToken(60_000);
+        token.setRefreshToken(refreshToken);
+        OAuth2Authentication authentication = authentication("refreshed@email.com");
+        this.tokenStore.storeRefreshToken(refreshToken, authentication);
+        this.tokenStore.storeAccessToken(token, authentication);
+        this.tokenStore.readAccessToken(token.getValue());
+
+        // When
+        this.tokenStore.removeAccessTokenUsingRefreshToken(refreshToken);
+
+        // Then
+        assertThat(this.tokenStore.readAccessToken(token.getValue())).isNull();
+    }
+
+    @Test
+    @TestDescription("만료된 토큰만 나눠서 지운다")
+    public void purgeExpiredTokens() {
+        // Given
+        CachingJdbcTokenStore store = new CachingJdbcTokenStore(this.dataSource, new NoOpCache("access-tokens"), 2);
+        for (int i = 0; i < 5; i++) {
+            store.storeAccessToken(accessToken(-60_000), authentication("expired" + i + "@email.com"));
+            store.storeRefreshToken(new DefaultExpiringOAuth2RefreshToken(UUID.randomUUID().toString(),
+                    new Date(System.currentTimeMillis() - 60_000)), authentication("expired" + i + "@email.com"));
+        }
+        OAuth2AccessToken alive = accessToken(60_000);
+        store.storeAccessToken(alive, authentication("alive@email.com"));
+
+        // When
+        store.purgeExpiredTokens();
+
+        // Then
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from oauth_access_token", Integer.class)).isEqualTo(1);
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from oauth_refresh_token", Integer.class)).isEqualTo(0);
+        assertThat(store.readAccessToken(alive.getValue())).isNotNull();
+    }
+
+    private DefaultOAuth2AccessToken accessToken(long expiresInMillis) {
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        token.setExpiration(new Date(System.currentTimeMillis() + expiresInMillis));
+        return token;
+    }
+
+    private OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", AuthorityUtils.NO_AUTHORITIES, true,
+                Set.of("read"), Set.of(), null, Set.of(), Map.of());
+        UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        return new OAuth2Authentication(request, user);
+    }
+}
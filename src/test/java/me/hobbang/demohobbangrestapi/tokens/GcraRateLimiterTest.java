@@ -0,0 +1,36 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GcraRateLimiterTest {
+
+    @Test
+    public void allowBurstThenLimit() {
+        GcraRateLimiter limiter = new GcraRateLimiter(3, Duration.ofMinutes(1), 100);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        long waitNanos = limiter.tryAcquire("a");
+        assertThat(waitNanos).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1).toNanos());
+
+        // 키마다 버킷이 따로 있다.
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    public void refill() throws InterruptedException {
+        GcraRateLimiter limiter = new GcraRateLimiter(1, Duration.ofMillis(50), 100);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+
+        Thread.sleep(60);
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+}
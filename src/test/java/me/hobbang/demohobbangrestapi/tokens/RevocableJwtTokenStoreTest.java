@@ -0,0 +1,93 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import me.hobbang.demohobbangrestapi.accounts.Account;
+import me.hobbang.demohobbangrestapi.accounts.AccountRole;
+import me.hobbang.demohobbangrestapi.accounts.AccountService;
+import me.hobbang.demohobbangrestapi.common.BaseControllerTest;
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "app.token-store.type=jwt",
+        "app.token-store.jwt.signing-key=test-signing-key"
+})
+public class RevocableJwtTokenStoreTest extends BaseControllerTest {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    TokenStore tokenStore;
+
+    @Test
+    @TestDescription("JWT 토큰은 저장소 없이 검증하고 refresh 하면 이전 토큰을 폐기한다")
+    public void refreshRevokesPreviousTokens() throws Exception {
+        assertThat(this.tokenStore).isInstanceOf(RevocableJwtTokenStore.class);
+
+        // Given
+        String username = "jwt@email.com";
+        String password = "pass";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password(password)
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build());
+
+        JsonNode issued = token(this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", password)
+                .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("jti").exists()));
+        String accessToken = issued.get("access_token").asText();
+        String refreshToken = issued.get("refresh_token").asText();
+
+        // 인증은 통과하고 본문 검증에서 400
+        createEvent(accessToken).andExpect(status().isBadRequest());
+
+        // When
+        JsonNode refreshed = token(refresh(refreshToken).andExpect(status().isOk()));
+
+        // Then
+        assertThat(refreshed.get("refresh_token").asText()).isNotEqualTo(refreshToken);
+        createEvent(accessToken).andExpect(status().isUnauthorized());
+        createEvent(refreshed.get("access_token").asText()).andExpect(status().isBadRequest());
+        refresh(refreshToken)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("error").value("invalid_grant"));
+    }
+
+    private ResultActions createEvent(String accessToken) throws Exception {
+        return perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{}"));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("refresh_token", refreshToken)
+                .param("grant_type", "refresh_token"));
+    }
+
+    private JsonNode token(ResultActions resultActions) throws Exception {
+        return this.objectMapper.readTree(resultActions.andReturn().getResponse().getContentAsString());
+    }
+}
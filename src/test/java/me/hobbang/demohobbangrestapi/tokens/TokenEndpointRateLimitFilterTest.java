@@ -0,0 +1,62 @@
+package me.hobbang.demohobbangrestapi.tokens;
+
+import me.hobbang.demohobbangrestapi.accounts.Account;
+import me.hobbang.demohobbangrestapi.accounts.AccountRole;
+import me.hobbang.demohobbangrestapi.accounts.AccountService;
+import me.hobbang.demohobbangrestapi.common.BaseControllerTest;
+import me.hobbang.demohobbangrestapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.username.capacity=2",
+        "app.rate-limit.username.refill-period=1h"
+})
+public class TokenEndpointRateLimitFilterTest extends BaseControllerTest {
+
+    @Autowired
+    AccountService accountService;
+
+    @Test
+    @TestDescription("같은 username으로 토큰 요청이 몰리면 bcrypt 검증 전에 429로 응답한다")
+    public void tooManyRequestsPerUsername() throws Exception {
+        // Given
+        String username = "limited@email.com";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+
+        // When & Then
+        requestToken(username, "pass").andExpect(status().isOk());
+        requestToken(username, "wrong").andExpect(status().isBadRequest());
+        requestToken(username, "pass")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("error").value("too_many_requests"));
+
+        // 다른 username은 영향이 없다.
+        requestToken("other@email.com", "pass").andExpect(status().isBadRequest());
+    }
+
+    private ResultActions requestToken(String username, String password) throws Exception {
+        return this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", password)
+                .param("grant_type", "password"));
+    }
+}